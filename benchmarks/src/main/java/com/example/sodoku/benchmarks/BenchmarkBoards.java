@@ -0,0 +1,76 @@
+package com.example.sodoku.benchmarks;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.SolverType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Builds the boards shared by the benchmarks from a fixed seed, so every run measures the same inputs.
+ */
+final class BenchmarkBoards {
+
+    static final long SEED = 42L;
+
+    /**
+     * Prevents instantiation.
+     */
+    private BenchmarkBoards() {
+    }
+
+    /**
+     * Parses a block shape parameter.
+     *
+     * @param block The block shape, written as {@code RxC}.
+     * @return The matching geometry.
+     */
+    static BoardGeometry geometry(String block) {
+        String[] shape = block.split("x");
+        return BoardGeometry.of(Integer.parseInt(shape[0]), Integer.parseInt(shape[1]));
+    }
+
+    /**
+     * Generates a solved board.
+     *
+     * @param geometry The shape of the board.
+     * @return A complete, valid board.
+     */
+    static int[][] solution(BoardGeometry geometry) {
+        BoardModel board = new BoardModel(geometry, SolverType.BACKTRACKING, Difficulty.MEDIUM, new SplittableRandom(SEED));
+        return board.getBoardFull();
+    }
+
+    /**
+     * Keeps a share of the cells of a solved board, chosen at random, and empties the rest.
+     * The result is not necessarily a unique puzzle; it is only an input of the given density.
+     *
+     * @param solution The solved board.
+     * @param cluePercent The percentage of cells to keep, from 0 to 100.
+     * @return A new board with the kept cells and 0 elsewhere.
+     */
+    static int[][] withClues(int[][] solution, int cluePercent) {
+        int size = solution.length;
+        int cellCount = size * size;
+        int[] cells = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            cells[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = cellCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = temp;
+        }
+        int[][] clues = new int[size][size];
+        int keep = cellCount * cluePercent / 100;
+        for (int i = 0; i < keep; i++) {
+            int row = cells[i] / size;
+            int col = cells[i] % size;
+            clues[row][col] = solution[row][col];
+        }
+        return clues;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.sodoku.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar. Accepts the usual JMH command-line options and adds the GC
+ * profiler unless other profilers are requested, so every run also reports allocation rates.
+ * <p>
+ * Usage: {@code java -jar target/benchmarks.jar [JMH options] [benchmark regex]}
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Prevents instantiation.
+     */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the selected benchmarks.
+     *
+     * @param args The JMH command-line options.
+     * @throws Exception if the options are invalid or a benchmark fails.
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            builder.addProfiler(GCProfiler.class);
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.sodoku.benchmarks;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.FillMode;
+import com.example.sodoku.models.SolverType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures puzzle generation: filling a board and removing cells down to a unique puzzle.
+ * The difficulty sets how many clues are left, and the fill mode whether the board is solved from
+ * empty or transformed from a seed grid. The uniform fill, which only exists for boards of side 6 or
+ * less, is measured by {@link UniformGenerationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenerationBenchmark {
+
+    @Param({"2x3", "3x3", "4x4"})
+    public String block;
+
+    @Param({"BACKTRACKING", "DANCING_LINKS", "PROPAGATION"})
+    public SolverType solver;
+
+    @Param({"EASY", "HARD"})
+    public Difficulty difficulty;
+
+    @Param({"SEARCH", "TRANSFORM"})
+    public FillMode fill;
+
+    private BoardGeometry geometry;
+    private SplittableRandom random;
+    private BoardModel reused;
+
+    /**
+     * Prepares the geometry, the random source and a board to regenerate.
+     */
+    @Setup
+    public void setUp() {
+        geometry = BenchmarkBoards.geometry(block);
+        random = new SplittableRandom(BenchmarkBoards.SEED);
+        reused = new BoardModel(geometry, solver, difficulty, fill, random.split());
+    }
+
+    /**
+     * Constructs a new board, allocating its solvers and matrices before generating.
+     *
+     * @return The generated board.
+     */
+    @Benchmark
+    public BoardModel construct() {
+        return new BoardModel(geometry, solver, difficulty, fill, random);
+    }
+
+    /**
+     * Generates a new puzzle into an existing board.
+     *
+     * @return The regenerated puzzle.
+     */
+    @Benchmark
+    public int[][] regenerate() {
+        reused.regenerate();
+        return reused.getSudoku();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.sodoku.benchmarks;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.SolverType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BoardModel#solveSudoku(int[][])} on boards with a given share of clues,
+ * from an empty board to a half-filled one. Each invocation first restores the board from its
+ * clues, which is a row copy and small next to the solve.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+
+    @Param({"2x3", "3x3", "4x4"})
+    public String block;
+
+    @Param({"0", "25", "50"})
+    public int cluePercent;
+
+    @Param({"BACKTRACKING", "DANCING_LINKS", "PROPAGATION"})
+    public SolverType solver;
+
+    private BoardModel board;
+    private int[][] clues;
+    private int[][] work;
+
+    /**
+     * Builds the board of the solver under test and the clues to solve.
+     */
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BenchmarkBoards.geometry(block);
+        board = new BoardModel(geometry, solver, Difficulty.MEDIUM, new SplittableRandom(BenchmarkBoards.SEED));
+        clues = BenchmarkBoards.withClues(BenchmarkBoards.solution(geometry), cluePercent);
+        work = new int[clues.length][clues.length];
+    }
+
+    /**
+     * Solves the board from its clues.
+     *
+     * @return Whether a solution was found.
+     */
+    @Benchmark
+    public boolean solve() {
+        for (int i = 0; i < clues.length; i++) {
+            System.arraycopy(clues[i], 0, work[i], 0, clues.length);
+        }
+        return board.solveSudoku(work);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.sodoku.benchmarks;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.FillMode;
+import com.example.sodoku.models.SolutionIndex;
+import com.example.sodoku.models.SolverType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures puzzle generation with {@link FillMode#UNIFORM}, which draws the full board uniformly from
+ * the {@link SolutionIndex} and only exists for boards of side 6 or less, so the board is fixed to 2x3
+ * blocks. The index is built once in setup, outside the measurement; compare with the 2x3 runs of
+ * {@link GenerationBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UniformGenerationBenchmark {
+
+    @Param({"BACKTRACKING", "DANCING_LINKS", "PROPAGATION"})
+    public SolverType solver;
+
+    @Param({"EASY", "HARD"})
+    public Difficulty difficulty;
+
+    private SplittableRandom random;
+    private BoardModel reused;
+
+    /**
+     * Builds the solution index and a board to regenerate.
+     */
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(BenchmarkBoards.SEED);
+        reused = new BoardModel(BoardGeometry.SIX, solver, difficulty, FillMode.UNIFORM, random.split());
+    }
+
+    /**
+     * Constructs a new board, allocating its solvers and matrices before generating.
+     *
+     * @return The generated board.
+     */
+    @Benchmark
+    public BoardModel construct() {
+        return new BoardModel(BoardGeometry.SIX, solver, difficulty, FillMode.UNIFORM, random);
+    }
+
+    /**
+     * Generates a new puzzle into an existing board.
+     *
+     * @return The regenerated puzzle.
+     */
+    @Benchmark
+    public int[][] regenerate() {
+        reused.regenerate();
+        return reused.getSudoku();
+    }
+}
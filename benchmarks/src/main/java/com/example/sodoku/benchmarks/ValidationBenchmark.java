@@ -0,0 +1,123 @@
+package com.example.sodoku.benchmarks;
+
+import com.example.sodoku.models.BitBoard;
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.Puzzle;
+import com.example.sodoku.models.SolverType;
+import com.example.sodoku.models.SudokuGame;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the checks run while a game is played: {@link BitBoard#canPlace(int, int, int)},
+ * {@link SudokuGame#verifyValue(int, int, int)}, {@link SudokuGame#gameFinished()} and
+ * {@link BoardModel#copySudoku(int[][])}. The probed cell and digit cycle through a precomputed list
+ * so the JIT cannot fold the checks into constants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    private static final int PROBES = 1024;
+
+    @Param({"2x3", "3x3", "4x4"})
+    public String block;
+
+    @Param({"25", "50", "75"})
+    public int cluePercent;
+
+    private BoardModel board;
+    private SudokuGame game;
+    private BitBoard bitBoard;
+    private int[][] clues;
+    private int[] probeRows;
+    private int[] probeCols;
+    private int[] probeValues;
+    private int probe;
+
+    /**
+     * Builds the board and game under test and the cells and digits to probe.
+     */
+    @Setup
+    public void setUp() {
+        BoardGeometry geometry = BenchmarkBoards.geometry(block);
+        board = new BoardModel(geometry, SolverType.BACKTRACKING, Difficulty.MEDIUM,
+                new SplittableRandom(BenchmarkBoards.SEED));
+        int[][] solution = BenchmarkBoards.solution(geometry);
+        clues = BenchmarkBoards.withClues(solution, cluePercent);
+        game = new SudokuGame(new Puzzle(geometry, Difficulty.MEDIUM, clues, solution));
+        bitBoard = new BitBoard(geometry);
+        bitBoard.load(clues);
+
+        int size = geometry.getSize();
+        SplittableRandom random = new SplittableRandom(BenchmarkBoards.SEED);
+        probeRows = new int[PROBES];
+        probeCols = new int[PROBES];
+        probeValues = new int[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeRows[i] = random.nextInt(size);
+            probeCols[i] = random.nextInt(size);
+            probeValues[i] = random.nextInt(size) + 1;
+        }
+    }
+
+    /**
+     * Checks a digit against the row, column and block masks of a board.
+     *
+     * @return Whether the digit can be placed.
+     */
+    @Benchmark
+    public boolean canPlace() {
+        int i = probe++ & (PROBES - 1);
+        return bitBoard.canPlace(probeRows[i], probeCols[i], probeValues[i]);
+    }
+
+    /**
+     * Checks a digit against the game in progress.
+     *
+     * @return Whether the digit can be placed.
+     */
+    @Benchmark
+    public boolean verifyValue() {
+        int i = probe++ & (PROBES - 1);
+        return game.verifyValue(probeValues[i], probeRows[i], probeCols[i]);
+    }
+
+    /**
+     * Checks whether the game in progress is complete.
+     *
+     * @return Whether the board is full.
+     */
+    @Benchmark
+    public boolean gameFinished() {
+        return game.gameFinished();
+    }
+
+    /**
+     * Copies the board matrix.
+     *
+     * @return The copy.
+     */
+    @Benchmark
+    public int[][] copySudoku() {
+        return board.copySudoku(clues);
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.sodoku.bank;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.Puzzle;
+import com.example.sodoku.models.PuzzleCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only, memory-mapped view of a puzzle bank file written by {@link PuzzleBankWriter}.
+ * The records stay in the page cache instead of the heap and any puzzle can be read by index
+ * without parsing the rest of the file. Reads use absolute positions, so a bank can be shared
+ * between threads.
+ * <p>
+ * File layout, little-endian: magic, version, block rows, block columns, difficulty and record
+ * length in {@code long}s as {@code int}s, then the puzzle count as a {@code long}, then the records.
+ */
+public class PuzzleBank implements AutoCloseable {
+
+    static final int MAGIC = 0x53444B42;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int COUNT_OFFSET = 24;
+    private static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final FileChannel channel;
+    private final BoardGeometry geometry;
+    private final Difficulty difficulty;
+    private final PuzzleCodec codec;
+    private final int recordLongs;
+    private final long count;
+    private final long recordsPerSegment;
+    private final LongBuffer[] segments;
+
+    /**
+     * Maps a bank file.
+     *
+     * @param path The bank file to open.
+     * @throws IOException if the file cannot be read, is not a puzzle bank, or is shorter than its header says.
+     */
+    public PuzzleBank(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // Keep reading until the header is complete or the file ends.
+            }
+            header.flip();
+            if (header.remaining() < HEADER_BYTES || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a puzzle bank: " + path);
+            }
+            int blockRows = header.getInt(8);
+            int blockCols = header.getInt(12);
+            int level = header.getInt(16);
+            Difficulty[] levels = Difficulty.values();
+            if (blockRows < 1 || blockCols < 1 || (long) blockRows * blockCols > BoardGeometry.MAX_SIZE
+                    || level < 0 || level >= levels.length) {
+                throw new IOException("Corrupt puzzle bank header: " + path);
+            }
+            this.geometry = BoardGeometry.of(blockRows, blockCols);
+            this.difficulty = levels[level];
+            this.recordLongs = header.getInt(20);
+            this.count = header.getLong(COUNT_OFFSET);
+            this.codec = new PuzzleCodec(geometry);
+            if (codec.getRecordLongs() != recordLongs) {
+                throw new IOException("Unsupported record layout in " + path);
+            }
+
+            long recordBytes = (long) recordLongs * Long.BYTES;
+            if (count < 0 || count > (channel.size() - HEADER_BYTES) / recordBytes) {
+                throw new IOException("Truncated puzzle bank: " + path + " holds fewer than " + count + " puzzles");
+            }
+            this.recordsPerSegment = MAX_SEGMENT_BYTES / recordBytes;
+            int segmentCount = (int) ((count + recordsPerSegment - 1) / recordsPerSegment);
+            this.segments = new LongBuffer[segmentCount];
+            for (int i = 0; i < segmentCount; i++) {
+                long first = i * recordsPerSegment;
+                long records = Math.min(recordsPerSegment, count - first);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY,
+                        HEADER_BYTES + first * recordBytes, records * recordBytes);
+                segments[i] = mapped.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes a bank header into the buffer at its current position.
+     *
+     * @param buffer A little-endian buffer with at least {@link #HEADER_BYTES} remaining.
+     * @param geometry The shape of the puzzles.
+     * @param difficulty The difficulty of the puzzles.
+     * @param recordLongs The length of each record in {@code long}s.
+     * @param count The number of puzzles.
+     */
+    static void writeHeader(ByteBuffer buffer, BoardGeometry geometry, Difficulty difficulty,
+                            int recordLongs, long count) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(geometry.getBlockRows());
+        buffer.putInt(geometry.getBlockCols());
+        buffer.putInt(difficulty.ordinal());
+        buffer.putInt(recordLongs);
+        buffer.putLong(count);
+    }
+
+    /**
+     * Returns the number of puzzles in the bank.
+     *
+     * @return The puzzle count.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Returns the shape of the puzzles in the bank.
+     *
+     * @return The geometry of every puzzle.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the difficulty the puzzles in the bank were generated with.
+     *
+     * @return The difficulty of every puzzle.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the codec of the records of this bank.
+     *
+     * @return The codec matching the bank's geometry.
+     */
+    public PuzzleCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Copies the raw record of a puzzle, without decoding it.
+     *
+     * @param index The index of the puzzle.
+     * @param dst The destination array.
+     * @param offset The index in {@code dst} of the first {@code long} of the record.
+     */
+    public void readRecord(long index, long[] dst, int offset) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Puzzle " + index + " of " + count);
+        }
+        LongBuffer segment = segments[(int) (index / recordsPerSegment)];
+        int position = (int) (index % recordsPerSegment) * recordLongs;
+        segment.get(position, dst, offset, recordLongs);
+    }
+
+    /**
+     * Reads and decodes a puzzle.
+     *
+     * @param index The index of the puzzle.
+     * @return The decoded puzzle.
+     */
+    public Puzzle get(long index) {
+        long[] record = new long[recordLongs];
+        readRecord(index, record, 0);
+        return codec.decode(geometry, difficulty, record, 0);
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when it is garbage collected.
+     *
+     * @throws IOException if closing fails.
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.sodoku.bank;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.PuzzleCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes a puzzle bank file: a fixed header followed by the packed records of {@link PuzzleCodec}.
+ * Records are appended in batches and the puzzle count is written into the header on close.
+ * Appends are synchronized, so several generator threads can share one writer.
+ */
+public class PuzzleBankWriter implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final PuzzleCodec codec;
+    private final int recordLongs;
+    private ByteBuffer buffer;
+    private long count;
+
+    /**
+     * Creates or truncates a bank file and writes its header.
+     *
+     * @param path The file to write.
+     * @param geometry The shape of every puzzle in the bank.
+     * @param difficulty The difficulty every puzzle in the bank was generated with.
+     * @throws IOException if the file cannot be created or written.
+     */
+    public PuzzleBankWriter(Path path, BoardGeometry geometry, Difficulty difficulty) throws IOException {
+        this.codec = new PuzzleCodec(geometry);
+        this.recordLongs = codec.getRecordLongs();
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(PuzzleBank.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        PuzzleBank.writeHeader(buffer, geometry, difficulty, recordLongs, 0);
+        buffer.flip();
+        writeFully(buffer, 0);
+    }
+
+    /**
+     * Returns the codec of the records of this bank.
+     *
+     * @return The codec matching the bank's geometry.
+     */
+    public PuzzleCodec getCodec() {
+        return codec;
+    }
+
+    /**
+     * Appends records encoded with {@link #getCodec()}.
+     *
+     * @param records The array holding the records back to back.
+     * @param recordCount The number of records to append from the start of the array.
+     * @throws IOException if writing fails.
+     */
+    public synchronized void append(long[] records, int recordCount) throws IOException {
+        int bytes = recordCount * recordLongs * Long.BYTES;
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocateDirect(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        buffer.clear();
+        buffer.asLongBuffer().put(records, 0, recordCount * recordLongs);
+        buffer.limit(bytes);
+        writeFully(buffer, PuzzleBank.HEADER_BYTES + count * recordLongs * Long.BYTES);
+        count += recordCount;
+    }
+
+    /**
+     * Returns the number of puzzles appended so far.
+     *
+     * @return The puzzle count.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Writes the final puzzle count into the header and closes the file.
+     *
+     * @throws IOException if writing fails.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            ByteBuffer countBuffer = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            countBuffer.putLong(count).flip();
+            writeFully(countBuffer, PuzzleBank.COUNT_OFFSET);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Writes the whole remaining content of a buffer at the given file position.
+     *
+     * @param source The bytes to write.
+     * @param position The file position of the first byte.
+     * @throws IOException if writing fails.
+     */
+    private void writeFully(ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.sodoku.batch;
+
+import com.example.sodoku.bank.PuzzleBank;
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.DifficultyGrader;
+import com.example.sodoku.models.Grade;
+import com.example.sodoku.models.PuzzleCodec;
+import com.example.sodoku.models.Technique;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Headless command-line tool that grades every puzzle of a {@link PuzzleBank} on every core.
+ * The bank is split into contiguous ranges, one per worker; each worker owns its own
+ * {@link DifficultyGrader} and decoding buffers and reads the shared, memory-mapped bank directly,
+ * so the workers share nothing but the output arrays. The solutions stored in the bank are used for
+ * the revealed cells, so no puzzle is solved by search.
+ * <p>
+ * Prints how many puzzles needed each technique and each difficulty level, and with {@code --out}
+ * writes one little-endian {@code int} per puzzle, in bank order: the ordinal of the hardest
+ * {@link Technique} it needed in the top byte and its {@link Grade#getScore() score} in the low 24 bits,
+ * so puzzles that share a hardest technique can still be ranked by how often it and the others were used.
+ * <p>
+ * Usage: {@code java -cp target/classes com.example.sodoku.batch.BankGrader
+ * --bank FILE [--threads T] [--out FILE]}
+ */
+public class BankGrader {
+
+    private final int threads;
+
+    /**
+     * Creates a bank grader.
+     *
+     * @param threads The number of worker threads.
+     */
+    public BankGrader(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Grades every puzzle of a bank.
+     *
+     * @param bank The bank to grade.
+     * @param hardest Receives the ordinal of the hardest technique of each puzzle, in bank order.
+     * @param scores Receives the score of each puzzle, in bank order.
+     * @throws IllegalArgumentException if an output array is shorter than the bank.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers.
+     */
+    public void grade(PuzzleBank bank, byte[] hardest, int[] scores) throws InterruptedException {
+        long count = bank.size();
+        if (count > hardest.length || count > scores.length) {
+            throw new IllegalArgumentException("Output arrays too short for " + count + " puzzles");
+        }
+        List<Callable<Void>> workers = new ArrayList<>();
+        int from = 0;
+        for (int i = 0; i < threads; i++) {
+            int share = (int) (count / threads + (i < count % threads ? 1 : 0));
+            int start = from;
+            workers.add(() -> {
+                gradeRange(bank, start, start + share, hardest, scores);
+                return null;
+            });
+            from += share;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Void> result : pool.invokeAll(workers)) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Grades the puzzles of one worker.
+     *
+     * @param bank The shared bank.
+     * @param from The index of the first puzzle to grade.
+     * @param to The index after the last puzzle to grade.
+     * @param hardest The shared output of hardest techniques; each worker writes only its own range.
+     * @param scores The shared output of scores; each worker writes only its own range.
+     */
+    private static void gradeRange(PuzzleBank bank, int from, int to, byte[] hardest, int[] scores) {
+        BoardGeometry geometry = bank.getGeometry();
+        int size = geometry.getSize();
+        PuzzleCodec codec = bank.getCodec();
+        DifficultyGrader grader = new DifficultyGrader(geometry);
+        long[] record = new long[codec.getRecordLongs()];
+        int[][] clues = new int[size][size];
+        int[][] solution = new int[size][size];
+        for (int index = from; index < to; index++) {
+            bank.readRecord(index, record, 0);
+            codec.decode(record, 0, clues, solution);
+            Grade grade = grader.grade(clues, solution);
+            hardest[index] = (byte) grade.getHardest().ordinal();
+            scores[index] = grade.getScore();
+        }
+    }
+
+    /**
+     * Prints how many puzzles needed each technique as the hardest one, and each difficulty level.
+     *
+     * @param hardest The ordinal of the hardest technique of each puzzle.
+     */
+    private static void printSummary(byte[] hardest) {
+        Technique[] techniques = Technique.values();
+        long[] byTechnique = new long[techniques.length];
+        for (byte ordinal : hardest) {
+            byTechnique[ordinal]++;
+        }
+        long[] byDifficulty = new long[Difficulty.values().length];
+        for (Technique technique : techniques) {
+            System.out.printf("%-20s %d%n", technique, byTechnique[technique.ordinal()]);
+            byDifficulty[Grade.difficultyOf(technique).ordinal()] += byTechnique[technique.ordinal()];
+        }
+        for (Difficulty difficulty : Difficulty.values()) {
+            System.out.printf("%-20s %d%n", difficulty, byDifficulty[difficulty.ordinal()]);
+        }
+    }
+
+    /**
+     * Entry point of the command-line tool.
+     *
+     * @param args The command-line options.
+     * @throws Exception if reading the bank or writing the output fails.
+     */
+    public static void main(String[] args) throws Exception {
+        String input = null;
+        String output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--bank":
+                    input = value;
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--out":
+                    output = value;
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Options: --bank FILE --threads T --out FILE");
+                    System.exit(2);
+                    return;
+            }
+            i++;
+        }
+        if (input == null) {
+            System.err.println("--bank FILE is required");
+            System.exit(2);
+            return;
+        }
+
+        byte[] hardest;
+        int[] scores;
+        long start = System.nanoTime();
+        try (PuzzleBank bank = new PuzzleBank(Paths.get(input))) {
+            if (bank.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many puzzles to grade at once: " + bank.size());
+            }
+            hardest = new byte[(int) bank.size()];
+            scores = new int[hardest.length];
+            new BankGrader(threads).grade(bank, hardest, scores);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (output != null) {
+            ByteBuffer grades = ByteBuffer.allocate(hardest.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < hardest.length; i++) {
+                grades.putInt(hardest[i] << 24 | scores[i]);
+            }
+            Files.write(Paths.get(output), grades.array());
+        }
+        printSummary(hardest);
+        System.err.printf("Graded %d puzzles in %.2f s (%.0f puzzles/s, %d threads)%n",
+                hardest.length, seconds, hardest.length / seconds, threads);
+    }
+}
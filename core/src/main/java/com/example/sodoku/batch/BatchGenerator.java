@@ -0,0 +1,466 @@
+package com.example.sodoku.batch;
+
+import com.example.sodoku.bank.PuzzleBankWriter;
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.FillMode;
+import com.example.sodoku.models.GridCanonicalizer;
+import com.example.sodoku.models.PuzzleCodec;
+import com.example.sodoku.models.SolutionIndex;
+import com.example.sodoku.models.SolverType;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless command-line tool that generates puzzles in bulk on every core, without JavaFX.
+ * Each worker owns its own {@link BoardModel} and a {@link SplittableRandom} split from the master
+ * seed, so workers never contend on a shared generator. Puzzles are written one per line as
+ * {@code puzzle:solution}, using {@code .} for empty cells and {@code 1-9}, {@code A-Z} for digits,
+ * or packed into a {@link com.example.sodoku.bank.PuzzleBank} file with {@code --format bank}.
+ * <p>
+ * With {@code --unique}, every puzzle is reduced to the canonical hash of its symmetry class by a
+ * {@link GridCanonicalizer} of its worker, and a puzzle whose class was already generated, a digit
+ * relabeling or a row, column, band or stack swap of an earlier one, is dropped and replaced. The
+ * hashes of all workers share one {@link ConcurrentLongSet}, so no board is ever compared in full.
+ * A worker that keeps drawing duplicates stops early, as when more puzzles are asked than a small
+ * board has classes.
+ * <p>
+ * With {@code --fill transform}, boards are filled by {@link FillMode#TRANSFORM} instead of a search,
+ * so only the removal of cells runs the solvers. With {@code --fill uniform}, boards of side 6 or less
+ * are drawn uniformly from every solution grid by {@link FillMode#UNIFORM}.
+ * <p>
+ * {@code --difficulty} sets how many cells every puzzle has emptied, and is recorded in the header of a
+ * bank; it defaults to medium.
+ * <p>
+ * Usage: {@code java -cp target/classes com.example.sodoku.batch.BatchGenerator
+ * [--count N] [--block RxC] [--solver TYPE] [--threads T] [--seed S] [--format text|bank] [--unique]
+ * [--fill search|transform|uniform] [--difficulty easy|medium|hard] [--out FILE]}
+ */
+public class BatchGenerator {
+
+    private static final int FLUSH_EVERY = 1024;
+    private static final int MAX_DUPLICATE_STREAK = 1000;
+    private static final String DIGITS = ".123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private final BoardGeometry geometry;
+    private final SolverType solverType;
+    private final Difficulty difficulty;
+    private final FillMode fillMode;
+    private final int threads;
+    private final boolean unique;
+    private final LongAdder duplicates = new LongAdder();
+
+    /**
+     * Creates a batch generator that keeps every generated puzzle.
+     *
+     * @param geometry The shape of the puzzles to generate.
+     * @param solverType The solver engine used to fill each board.
+     * @param threads The number of worker threads.
+     */
+    public BatchGenerator(BoardGeometry geometry, SolverType solverType, int threads) {
+        this(geometry, solverType, threads, false);
+    }
+
+    /**
+     * Creates a batch generator.
+     *
+     * @param geometry The shape of the puzzles to generate.
+     * @param solverType The solver engine used to fill each board.
+     * @param threads The number of worker threads.
+     * @param unique true to drop the puzzles equivalent by symmetry to one already generated.
+     * @throws IllegalArgumentException if unique puzzles are asked for a board too large to canonicalize.
+     */
+    public BatchGenerator(BoardGeometry geometry, SolverType solverType, int threads, boolean unique) {
+        this(geometry, solverType, FillMode.SEARCH, threads, unique);
+    }
+
+    /**
+     * Creates a batch generator whose boards are filled the given way.
+     *
+     * @param geometry The shape of the puzzles to generate.
+     * @param solverType The solver engine used to fill each board or to check its removals.
+     * @param fillMode How each board is filled before cells are removed.
+     * @param threads The number of worker threads.
+     * @param unique true to drop the puzzles equivalent by symmetry to one already generated.
+     * @throws IllegalArgumentException if unique puzzles are asked for a board too large to canonicalize,
+     *         or uniform grids for a board too large to index.
+     */
+    public BatchGenerator(BoardGeometry geometry, SolverType solverType, FillMode fillMode, int threads,
+                          boolean unique) {
+        this(geometry, solverType, Difficulty.MEDIUM, fillMode, threads, unique);
+    }
+
+    /**
+     * Creates a batch generator of puzzles of the given difficulty, whose boards are filled the given way.
+     *
+     * @param geometry The shape of the puzzles to generate.
+     * @param solverType The solver engine used to fill each board or to check its removals.
+     * @param difficulty The difficulty level, which sets how many cells each puzzle has emptied.
+     * @param fillMode How each board is filled before cells are removed.
+     * @param threads The number of worker threads.
+     * @param unique true to drop the puzzles equivalent by symmetry to one already generated.
+     * @throws IllegalArgumentException if unique puzzles are asked for a board too large to canonicalize,
+     *         or uniform grids for a board too large to index.
+     */
+    public BatchGenerator(BoardGeometry geometry, SolverType solverType, Difficulty difficulty, FillMode fillMode,
+                          int threads, boolean unique) {
+        this.geometry = geometry;
+        this.solverType = solverType;
+        this.difficulty = difficulty;
+        this.fillMode = fillMode;
+        this.threads = threads;
+        this.unique = unique;
+        if (unique && !GridCanonicalizer.supports(geometry)) {
+            throw new IllegalArgumentException("Cannot deduplicate " + geometry + " boards: too many symmetries");
+        }
+        if (fillMode == FillMode.UNIFORM && !SolutionIndex.supports(geometry)) {
+            throw new IllegalArgumentException("Cannot draw uniform " + geometry + " grids: the board is too large");
+        }
+    }
+
+    /**
+     * Returns the number of duplicate puzzles dropped by the generations of this generator.
+     *
+     * @return The duplicate count.
+     */
+    public long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    /**
+     * Generates the given number of puzzles and writes them to the output as text lines.
+     *
+     * @param count The number of puzzles to generate.
+     * @param seed The master seed from which every worker's generator is split.
+     * @param out The destination of the puzzles; writes are synchronized on it.
+     * @return The number of puzzles written, fewer than asked only if unique puzzles ran out.
+     * @throws IOException if writing fails.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers.
+     */
+    public long generate(long count, long seed, Writer out) throws IOException, InterruptedException {
+        long written = run(count, seed, (share, random, dedup) -> writeText(share, random, dedup, out));
+        out.flush();
+        return written;
+    }
+
+    /**
+     * Generates the given number of puzzles and appends them to a puzzle bank.
+     *
+     * @param count The number of puzzles to generate.
+     * @param seed The master seed from which every worker's generator is split.
+     * @param bank The destination bank, whose geometry must be the one of this generator.
+     * @return The number of puzzles appended, fewer than asked only if unique puzzles ran out.
+     * @throws IOException if writing fails.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers.
+     */
+    public long generate(long count, long seed, PuzzleBankWriter bank) throws IOException, InterruptedException {
+        return run(count, seed, (share, random, dedup) -> writeBank(share, random, dedup, bank));
+    }
+
+    /**
+     * Splits the puzzles between the workers and waits for all of them.
+     *
+     * @param count The number of puzzles to generate.
+     * @param seed The master seed from which every worker's generator is split.
+     * @param worker The work each thread runs on its share.
+     * @return The number of puzzles written by all the workers.
+     * @throws IOException if a worker fails to write.
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the workers.
+     */
+    private long run(long count, long seed, Worker worker) throws IOException, InterruptedException {
+        SplittableRandom master = new SplittableRandom(seed);
+        ConcurrentLongSet seen = unique ? new ConcurrentLongSet(count) : null;
+        List<Callable<Long>> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            long share = count / threads + (i < count % threads ? 1 : 0);
+            SplittableRandom random = master.split();
+            workers.add(() -> {
+                if (share == 0) {
+                    return 0L;
+                }
+                Deduplicator dedup = seen == null ? null : new Deduplicator(geometry, seen);
+                return worker.run(share, random, dedup);
+            });
+        }
+
+        long written = 0;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (Future<Long> result : pool.invokeAll(workers)) {
+                written += result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return written;
+    }
+
+    /**
+     * Moves a worker's board to its next puzzle. With deduplication, puzzles equivalent to one already
+     * generated are skipped.
+     *
+     * @param board The worker's board, holding its previous puzzle unless this is its first one.
+     * @param dedup The worker's deduplication state, or null to keep every puzzle.
+     * @param first true if the board holds the worker's first puzzle, not yet checked.
+     * @return false if the worker drew too many duplicates in a row to go on.
+     */
+    private boolean advance(BoardModel board, Deduplicator dedup, boolean first) {
+        if (!first) {
+            board.regenerate();
+        }
+        if (dedup == null) {
+            return true;
+        }
+        for (int streak = 0; !dedup.seen.add(dedup.canonicalizer.puzzleHash(board.getSudoku(), board.getBoardFull()));
+                streak++) {
+            duplicates.increment();
+            if (streak == MAX_DUPLICATE_STREAK) {
+                return false;
+            }
+            board.regenerate();
+        }
+        return true;
+    }
+
+    /**
+     * Generates the puzzles of one worker as text, flushing them to the shared output in chunks.
+     *
+     * @param share The number of puzzles this worker generates.
+     * @param random The worker's own generator.
+     * @param dedup The worker's deduplication state, or null to keep every puzzle.
+     * @param out The shared destination of the puzzles.
+     * @return The number of puzzles written.
+     * @throws IOException if writing fails.
+     */
+    private long writeText(long share, SplittableRandom random, Deduplicator dedup, Writer out) throws IOException {
+        BoardModel board = new BoardModel(geometry, solverType, difficulty, fillMode, random);
+        StringBuilder buffer = new StringBuilder(FLUSH_EVERY * (2 * geometry.getCellCount() + 2));
+        long i = 0;
+        for (; i < share; i++) {
+            if (!advance(board, dedup, i == 0)) {
+                break;
+            }
+            appendBoard(buffer, board.getSudoku());
+            buffer.append(':');
+            appendBoard(buffer, board.getBoardFull());
+            buffer.append('\n');
+            if ((i + 1) % FLUSH_EVERY == 0) {
+                write(out, buffer);
+            }
+        }
+        write(out, buffer);
+        return i;
+    }
+
+    /**
+     * Generates the puzzles of one worker as packed records, appending them to the bank in chunks.
+     *
+     * @param share The number of puzzles this worker generates.
+     * @param random The worker's own generator.
+     * @param dedup The worker's deduplication state, or null to keep every puzzle.
+     * @param bank The shared destination bank.
+     * @return The number of puzzles appended.
+     * @throws IOException if writing fails.
+     */
+    private long writeBank(long share, SplittableRandom random, Deduplicator dedup, PuzzleBankWriter bank)
+            throws IOException {
+        BoardModel board = new BoardModel(geometry, solverType, difficulty, fillMode, random);
+        PuzzleCodec codec = bank.getCodec();
+        int recordLongs = codec.getRecordLongs();
+        long[] records = new long[FLUSH_EVERY * recordLongs];
+        int pending = 0;
+        long i = 0;
+        for (; i < share; i++) {
+            if (!advance(board, dedup, i == 0)) {
+                break;
+            }
+            codec.encode(board.getSudoku(), board.getBoardFull(), records, pending * recordLongs);
+            if (++pending == FLUSH_EVERY) {
+                bank.append(records, pending);
+                pending = 0;
+            }
+        }
+        bank.append(records, pending);
+        return i;
+    }
+
+    /**
+     * Writes and clears the buffer of a worker.
+     *
+     * @param out The shared destination.
+     * @param buffer The lines generated by the worker.
+     * @throws IOException if writing fails.
+     */
+    private static void write(Writer out, StringBuilder buffer) throws IOException {
+        synchronized (out) {
+            out.append(buffer);
+        }
+        buffer.setLength(0);
+    }
+
+    /**
+     * Appends a board as one character per cell, in row-major order.
+     *
+     * @param buffer The destination buffer.
+     * @param board The board to append.
+     */
+    static void appendBoard(StringBuilder buffer, int[][] board) {
+        for (int[] row : board) {
+            for (int value : row) {
+                buffer.append(DIGITS.charAt(value));
+            }
+        }
+    }
+
+    /**
+     * Work run by one thread on its share of the puzzles.
+     */
+    @FunctionalInterface
+    private interface Worker {
+
+        /**
+         * Generates and writes the given number of puzzles.
+         *
+         * @param share The number of puzzles to generate.
+         * @param random The worker's own generator.
+         * @param dedup The worker's deduplication state, or null to keep every puzzle.
+         * @return The number of puzzles written.
+         * @throws IOException if writing fails.
+         */
+        long run(long share, SplittableRandom random, Deduplicator dedup) throws IOException;
+    }
+
+    /**
+     * The deduplication state of one worker: its own canonicalizer and the set of hashes shared by all.
+     */
+    private static final class Deduplicator {
+
+        private final GridCanonicalizer canonicalizer;
+        private final ConcurrentLongSet seen;
+
+        /**
+         * Creates the deduplication state of a worker.
+         *
+         * @param geometry The shape of the puzzles.
+         * @param seen The canonical hashes of the puzzles generated so far by every worker.
+         */
+        private Deduplicator(BoardGeometry geometry, ConcurrentLongSet seen) {
+            this.canonicalizer = new GridCanonicalizer(geometry);
+            this.seen = seen;
+        }
+    }
+
+    /**
+     * Entry point of the command-line tool.
+     *
+     * @param args The command-line options.
+     * @throws Exception if generation or writing fails.
+     */
+    public static void main(String[] args) throws Exception {
+        long count = 1000;
+        int blockRows = 2;
+        int blockCols = 3;
+        SolverType solverType = SolverType.BACKTRACKING;
+        FillMode fillMode = FillMode.SEARCH;
+        Difficulty difficulty = Difficulty.MEDIUM;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        String format = "text";
+        boolean unique = false;
+        String output = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--count":
+                    count = Long.parseLong(value);
+                    break;
+                case "--block":
+                    String[] shape = value.split("x");
+                    blockRows = Integer.parseInt(shape[0]);
+                    blockCols = Integer.parseInt(shape[1]);
+                    break;
+                case "--solver":
+                    solverType = SolverType.valueOf(value.toUpperCase());
+                    break;
+                case "--fill":
+                    fillMode = FillMode.valueOf(value.toUpperCase());
+                    break;
+                case "--difficulty":
+                    difficulty = Difficulty.valueOf(value.toUpperCase());
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value);
+                    break;
+                case "--format":
+                    format = value;
+                    break;
+                case "--unique":
+                    unique = true;
+                    continue;
+                case "--out":
+                    output = value;
+                    break;
+                default:
+                    System.err.println("Unknown option: " + args[i]);
+                    System.err.println("Options: --count N --block RxC --solver TYPE --threads T --seed S"
+                            + " --format text|bank --unique --fill search|transform|uniform"
+                            + " --difficulty easy|medium|hard --out FILE");
+                    System.exit(2);
+                    return;
+            }
+            i++;
+        }
+
+        BoardGeometry geometry = BoardGeometry.of(blockRows, blockCols);
+        BatchGenerator generator = new BatchGenerator(geometry, solverType, difficulty, fillMode, threads, unique);
+        long generated;
+        long start = System.nanoTime();
+        if (format.equals("bank")) {
+            if (output == null) {
+                System.err.println("--format bank needs --out FILE");
+                System.exit(2);
+                return;
+            }
+            try (PuzzleBankWriter bank = new PuzzleBankWriter(Paths.get(output), geometry, difficulty)) {
+                generated = generator.generate(count, seed, bank);
+            }
+        } else {
+            Writer out = output == null
+                    ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), 1 << 16)
+                    : Files.newBufferedWriter(Paths.get(output), StandardCharsets.US_ASCII);
+            try (out) {
+                generated = generator.generate(count, seed, out);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.printf("Generated %d %s puzzles in %.2f s (%.0f puzzles/s, %d threads, seed %d)%n",
+                generated, geometry, seconds, generated / seconds, threads, seed);
+        if (unique) {
+            System.err.printf("Dropped %d duplicates by symmetry%n", generator.getDuplicates());
+        }
+    }
+}
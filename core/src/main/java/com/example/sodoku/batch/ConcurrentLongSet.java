@@ -0,0 +1,72 @@
+package com.example.sodoku.batch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-capacity set of {@code long} keys shared by many threads, such as the canonical hashes of
+ * generated puzzles. Keys live in a single {@link AtomicLongArray} with open addressing and linear
+ * probing, and a key is claimed with one compare-and-set, so adding neither locks nor allocates.
+ * The key 0 marks an empty slot and is stored as 1 instead; with 64-bit hashes that merge is as
+ * unlikely as any other collision.
+ */
+public class ConcurrentLongSet {
+
+    private final AtomicLongArray slots;
+    private final int mask;
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * Creates a set sized for the given number of keys, at most half full.
+     *
+     * @param expected The number of keys the set must hold.
+     * @throws IllegalArgumentException if the set would not fit in an array.
+     */
+    public ConcurrentLongSet(long expected) {
+        long capacity = Long.highestOneBit(Math.max(2 * expected - 1, 1)) << 1;
+        if (capacity > 1 << 30) {
+            throw new IllegalArgumentException("Too many keys for one set: " + expected);
+        }
+        this.slots = new AtomicLongArray((int) capacity);
+        this.mask = (int) capacity - 1;
+    }
+
+    /**
+     * Adds a key unless it is already in the set.
+     *
+     * @param key The key to add.
+     * @return true if the key was added; false if it was already there.
+     * @throws IllegalStateException if the set is full.
+     */
+    public boolean add(long key) {
+        if (key == 0) {
+            key = 1;
+        }
+        int start = (int) (key ^ (key >>> 32)) & mask;
+        int slot = start;
+        do {
+            long current = slots.get(slot);
+            if (current == 0) {
+                if (slots.compareAndSet(slot, 0, key)) {
+                    size.increment();
+                    return true;
+                }
+                current = slots.get(slot);
+            }
+            if (current == key) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        } while (slot != start);
+        throw new IllegalStateException("The set is full");
+    }
+
+    /**
+     * Returns the number of keys in the set.
+     *
+     * @return The key count.
+     */
+    public long size() {
+        return size.sum();
+    }
+}
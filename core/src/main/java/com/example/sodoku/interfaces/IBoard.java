@@ -1,5 +1,7 @@
 package com.example.sodoku.interfaces;
 
+import com.example.sodoku.models.BoardGeometry;
+
 /**
  * This interface defines the methods required to manage a Sudoku board,
  * including methods for initialization, solving, and validation.
@@ -22,18 +24,7 @@ public interface IBoard {
     void initializeSudoku(int[][] sudoku);
 
     /**
-     * Checks if a number can be safely placed at the specified position in the Sudoku matrix.
-     *
-     * @param sudoku The current Sudoku matrix.
-     * @param row The row index where the number will be placed.
-     * @param col The column index where the number will be placed.
-     * @param num The number to be placed in the matrix.
-     * @return true if the number can be placed without violating Sudoku rules; false otherwise.
-     */
-    boolean isSafe(int[][] sudoku, int row, int col, int num);
-
-    /**
-     * Solves the given Sudoku matrix using a backtracking algorithm.
+     * Solves the given Sudoku matrix using the board's solver engine.
      *
      * @param sudoku The Sudoku matrix to solve.
      * @return true if the Sudoku was solved successfully; false if no solution exists.
@@ -41,18 +32,18 @@ public interface IBoard {
     boolean solveSudoku(int[][] sudoku);
 
     /**
-     * Randomly shuffles the elements of an array.
+     * Removes numbers one cell at a time, keeping only the removals after which the puzzle
+     * still has exactly one solution.
      *
-     * @param array The array to be shuffled.
+     * @param sudoku The solved Sudoku matrix from which numbers will be removed.
+     * @return The number of cells that were emptied.
      */
-    void shuffleArray(Integer[] array);
+    int removeNumbersUnique(int[][] sudoku);
 
     /**
-     * Removes a specified number of elements from random positions in each block of the Sudoku matrix.
-     *
-     * @param sudoku The Sudoku matrix from which numbers will be removed.
+     * Generates a new puzzle in place, reusing the matrices of the board.
      */
-    void removeNumbersFromBlocks(int[][] sudoku);
+    void regenerate();
 
     /**
      * Retrieves the current Sudoku matrix.
@@ -67,4 +58,11 @@ public interface IBoard {
      * @return A 2D array representing the complete Sudoku board.
      */
     int[][] getBoardFull();
+
+    /**
+     * Retrieves the shape of the board.
+     *
+     * @return The geometry of the Sudoku board.
+     */
+    BoardGeometry getGeometry();
 }
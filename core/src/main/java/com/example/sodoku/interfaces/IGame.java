@@ -0,0 +1,120 @@
+package com.example.sodoku.interfaces;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Hint;
+
+/**
+ * This interface establishes the methods to manage verification, add number, etc.
+ * @author Juan Toro
+ */
+public interface IGame {
+
+    /**
+     * Verifies if the given value is valid for a specific position in the game matrix.
+     *
+     * @param value The value entered by the user.
+     * @param row The row in the matrix where the value will be placed.
+     * @param col The column in the matrix where the value will be placed.
+     * @return true if the value can be
+     */
+    boolean verifyValue(int value, int row, int col);
+
+    /**
+     * Places a value in the game matrix, keeping the validation state up to date.
+     *
+     * @param value The value entered by the user.
+     * @param row The row in the matrix where the value will be placed.
+     * @param col The column in the matrix where the value will be placed.
+     */
+    void setValue(int value, int row, int col);
+
+    /**
+     * Empties a cell of the game matrix, keeping the validation state up to date.
+     *
+     * @param row The row of the cell to empty.
+     * @param col The column of the cell to empty.
+     */
+    void clearValue(int row, int col);
+
+    /**
+     * Takes back the latest move.
+     *
+     * @return The packed move taken back, or {@code MoveJournal.NONE} if there is no move.
+     */
+    int undo();
+
+    /**
+     * Replays the latest move taken back.
+     *
+     * @return The packed move replayed, or {@code MoveJournal.NONE} if there is no move.
+     */
+    int redo();
+
+    /**
+     * Returns a token for the current point of the game.
+     *
+     * @return The snapshot token.
+     */
+    long snapshot();
+
+    /**
+     * Returns the board to a snapshot taken earlier.
+     *
+     * @param snapshot A token returned by {@link #snapshot()}.
+     * @return true if the board was restored, false if the snapshot is no longer reachable.
+     */
+    boolean restore(long snapshot);
+
+    /**
+     * Picks a help number for the Sudoku board: the next move that can be deduced logically, with the
+     * technique that deduces it. When no technique applies, or the board holds a mistake that makes the
+     * deduction differ from the solution, a random empty cell is revealed. No hint is given for the last
+     * empty cell, so the help cannot be used to win.
+     *
+     * @return The hint, or null if at most one cell is empty.
+     */
+    Hint addHelpNumbers();
+
+    /**
+     * Checks if the game has finished. The game is considered finished if all cells
+     * are filled and the values are correct according to Sudoku rules.
+     *
+     * @return true if the game is finished, false if not.
+     */
+    boolean gameFinished();
+
+    /**
+     * Returns the number of cells that are still empty.
+     *
+     * @return The number of empty cells.
+     */
+    int getEmptyCount();
+
+    /**
+     * Returns the number of hints given in this game.
+     *
+     * @return The hint count.
+     */
+    int getHintsUsed();
+
+    /**
+     * Returns the ID the puzzle of this game can be regenerated from.
+     *
+     * @return The puzzle ID, or 0 if the puzzle was not generated from an ID.
+     */
+    long getPuzzleId();
+
+    /**
+     * Returns the sudoku matrix.
+     *
+     * @return Returns the sudoku matrix.
+     */
+    int[][] getMatrix();
+
+    /**
+     * Returns the shape of the sudoku board.
+     *
+     * @return The geometry of the board.
+     */
+    BoardGeometry getGeometry();
+}
\ No newline at end of file
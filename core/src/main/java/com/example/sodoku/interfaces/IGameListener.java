@@ -0,0 +1,30 @@
+package com.example.sodoku.interfaces;
+
+/**
+ * This interface receives the changes made to a game as they happen, for example to save them.
+ * It is called on the thread that plays the game, so implementations must return quickly.
+ */
+public interface IGameListener {
+
+    /**
+     * Called after a value is placed in or erased from a cell.
+     *
+     * @param move The move, packed in the format of {@code MoveJournal}.
+     */
+    void onMove(int move);
+
+    /**
+     * Called after the latest move is taken back.
+     */
+    void onUndo();
+
+    /**
+     * Called after the latest move taken back is replayed.
+     */
+    void onRedo();
+
+    /**
+     * Called after a hint is given.
+     */
+    void onHint();
+}
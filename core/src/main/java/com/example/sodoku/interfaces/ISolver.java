@@ -0,0 +1,35 @@
+package com.example.sodoku.interfaces;
+
+import com.example.sodoku.models.SolverStats;
+
+/**
+ * This interface defines a Sudoku solving engine that can be plugged into a board.
+ */
+public interface ISolver {
+
+    /**
+     * Fills every empty cell (value 0) of the given Sudoku matrix in place.
+     *
+     * @param sudoku The Sudoku matrix to solve.
+     * @return true if the Sudoku was solved successfully; false if no solution exists.
+     */
+    boolean solve(int[][] sudoku);
+
+    /**
+     * Counts the solutions of the given Sudoku matrix, stopping as soon as the limit is reached.
+     * The matrix is left unchanged.
+     *
+     * @param sudoku The Sudoku matrix to examine.
+     * @param limit The number of solutions after which counting stops.
+     * @return The number of solutions found, never more than {@code limit}.
+     */
+    int countSolutions(int[][] sudoku, int limit);
+
+    /**
+     * Returns the search statistics of the last call to {@link #solve(int[][])} or
+     * {@link #countSolutions(int[][], int)}. The same instance is reused by every call.
+     *
+     * @return The statistics of the last solve.
+     */
+    SolverStats getLastStats();
+}
@@ -0,0 +1,299 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.ISolver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Randomized backtracking solver that walks the empty cells with an explicit stack instead of recursion.
+ * At each level it branches on the empty cell with the fewest candidates. Randomized searches have
+ * heavy-tailed running times, so each attempt gets a node budget and the search restarts with a fresh
+ * ordering and a doubled budget when it runs out; on an empty board, which has solutions everywhere,
+ * the restarts fill 16x16 and 25x25 boards quickly.
+ * <p>
+ * Restarts do not help on a board with clues: the search does no propagation, so a single solution
+ * hidden behind hidden singles can take it minutes to reach on a 16x16 puzzle, however the digits
+ * are ordered. A board with clues whose first attempt runs out of budget is therefore handed to a
+ * {@link PropagationSolver}.
+ * Every buffer (empty cell list, per-depth digit orderings and resume positions) is allocated once
+ * in the constructor, so a solve does not allocate anything per search node.
+ */
+public class BacktrackingSolver implements ISolver {
+
+    private static final int INITIAL_BUDGET_PER_CELL = 4;
+    private static final int UNSOLVABLE = 0;
+    private static final int SOLVED = 1;
+    private static final int RESTART = 2;
+
+    private final int size;
+    private final BitBoard bitBoard;
+    private final RandomGenerator random;
+    private final int[] emptyCells;
+    private final int[] orders;
+    private final int[] positions;
+    private final SolverStats stats = new SolverStats();
+    private final PropagationSolver fallback;
+    private SolverStats lastStats = stats;
+
+    /**
+     * Creates a solver for boards of the given geometry.
+     *
+     * @param geometry The shape of the boards to solve.
+     * @param random The generator used to shuffle the digit order of each cell.
+     */
+    public BacktrackingSolver(BoardGeometry geometry, RandomGenerator random) {
+        this.size = geometry.getSize();
+        this.bitBoard = new BitBoard(geometry);
+        this.random = random;
+        this.emptyCells = new int[size * size];
+        this.orders = new int[size * size * size];
+        this.positions = new int[size * size];
+        this.fallback = new PropagationSolver(geometry, random);
+        for (int i = 0; i < orders.length; i++) {
+            orders[i] = i % size + 1;
+        }
+    }
+
+    /**
+     * Solves the given Sudoku matrix, trying the digits of each cell in a random order. A board
+     * with clues that is not solved within the first node budget is solved by propagation instead.
+     *
+     * @param sudoku The Sudoku matrix to solve.
+     * @return true if the Sudoku was solved successfully; false if no solution exists.
+     */
+    public boolean solve(int[][] sudoku) {
+        int count = prepare(sudoku);
+        if (count == 0) {
+            return true;
+        }
+
+        long budget = (long) count * INITIAL_BUDGET_PER_CELL;
+        int result;
+        while ((result = search(sudoku, count, budget)) == RESTART) {
+            for (int i = 0; i < count; i++) {
+                int cell = emptyCells[i];
+                int row = cell / size;
+                int col = cell % size;
+                if (sudoku[row][col] != 0) {
+                    bitBoard.remove(row, col, sudoku[row][col]);
+                    sudoku[row][col] = 0;
+                }
+            }
+            if (count < size * size) {
+                boolean solved = fallback.solve(sudoku);
+                lastStats = fallback.getLastStats();
+                return solved;
+            }
+            budget *= 2;
+        }
+        if (result == SOLVED) {
+            stats.recordSolution(size * size - count, 0, count);
+        }
+        return result == SOLVED;
+    }
+
+    /**
+     * Counts the solutions of the given Sudoku matrix, stopping as soon as the limit is reached.
+     * The digits of each cell are enumerated straight from its candidate mask, without shuffling.
+     * The matrix is left unchanged.
+     *
+     * @param sudoku The Sudoku matrix to examine.
+     * @param limit The number of solutions after which counting stops.
+     * @return The number of solutions found, never more than {@code limit}.
+     */
+    public int countSolutions(int[][] sudoku, int limit) {
+        int count = prepare(sudoku);
+        if (count == 0) {
+            return 1;
+        }
+
+        int solutions = 0;
+        long nodes = 0;
+        long backtracks = 0;
+        int maxDepth = 0;
+        int depth = 0;
+        positions[0] = -1;
+        while (depth >= 0) {
+            if (positions[depth] < 0) {
+                selectCell(depth, count);
+                int cell = emptyCells[depth];
+                positions[depth] = bitBoard.candidates(cell / size, cell % size);
+            }
+            int cell = emptyCells[depth];
+            int row = cell / size;
+            int col = cell % size;
+            if (sudoku[row][col] != 0) {
+                bitBoard.remove(row, col, sudoku[row][col]);
+                sudoku[row][col] = 0;
+            }
+
+            int remaining = positions[depth];
+            if (remaining == 0) {
+                depth--;
+                backtracks++;
+                continue;
+            }
+            int bit = remaining & -remaining;
+            positions[depth] = remaining & ~bit;
+            int num = Integer.numberOfTrailingZeros(bit) + 1;
+            nodes++;
+
+            if (depth + 1 == count) {
+                maxDepth = count;
+                if (++solutions >= limit) {
+                    break;
+                }
+                continue;
+            }
+            sudoku[row][col] = num;
+            bitBoard.place(row, col, num);
+            positions[++depth] = -1;
+            if (depth > maxDepth) {
+                maxDepth = depth;
+            }
+        }
+        stats.addSearch(nodes, backtracks, maxDepth);
+
+        for (int i = 0; i < count; i++) {
+            int cell = emptyCells[i];
+            sudoku[cell / size][cell % size] = 0;
+        }
+        return solutions;
+    }
+
+    /**
+     * Returns the statistics of the last call to {@link #solve(int[][])} or {@link #countSolutions(int[][], int)},
+     * summed over the restarts of a solve, or those of the propagation solver when a solve was handed to it.
+     *
+     * @return The statistics of the last solve.
+     */
+    public SolverStats getLastStats() {
+        return lastStats;
+    }
+
+    /**
+     * Loads the masks of the given matrix and collects its empty cells.
+     *
+     * @param sudoku The Sudoku matrix to solve.
+     * @return The number of empty cells.
+     */
+    private int prepare(int[][] sudoku) {
+        stats.reset();
+        lastStats = stats;
+        bitBoard.load(sudoku);
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (sudoku[row][col] == 0) {
+                    emptyCells[count++] = row * size + col;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Runs one randomized search over the collected empty cells.
+     *
+     * @param sudoku The Sudoku matrix being solved.
+     * @param count The number of empty cells.
+     * @param budget The number of placements allowed before giving up on this attempt.
+     * @return {@code SOLVED}, {@code UNSOLVABLE} or {@code RESTART} if the budget ran out.
+     */
+    private int search(int[][] sudoku, int count, long budget) {
+        long nodes = 0;
+        long backtracks = 0;
+        int maxDepth = 0;
+        int result = UNSOLVABLE;
+        int depth = 0;
+        positions[0] = -1;
+        while (depth >= 0) {
+            int offset = depth * size;
+
+            if (positions[depth] < 0) {
+                selectCell(depth, count);
+                shuffle(offset);
+                positions[depth] = 0;
+            }
+            int cell = emptyCells[depth];
+            int row = cell / size;
+            int col = cell % size;
+            if (sudoku[row][col] != 0) {
+                bitBoard.remove(row, col, sudoku[row][col]);
+                sudoku[row][col] = 0;
+            }
+
+            int candidates = bitBoard.candidates(row, col);
+            boolean placed = false;
+            while (positions[depth] < size) {
+                int num = orders[offset + positions[depth]++];
+                if ((candidates & (1 << (num - 1))) != 0) {
+                    sudoku[row][col] = num;
+                    bitBoard.place(row, col, num);
+                    placed = true;
+                    break;
+                }
+            }
+
+            if (!placed) {
+                depth--;
+                backtracks++;
+                continue;
+            }
+            if (++depth > maxDepth) {
+                maxDepth = depth;
+            }
+            if (depth == count) {
+                result = SOLVED;
+                break;
+            } else if (++nodes > budget) {
+                result = RESTART;
+                break;
+            }
+            positions[depth] = -1;
+        }
+        stats.addSearch(nodes, backtracks, maxDepth);
+        return result;
+    }
+
+    /**
+     * Moves the empty cell with the fewest candidates among the unfilled ones to the given depth.
+     *
+     * @param depth The first unfilled position of the empty cell list.
+     * @param count The number of empty cells.
+     */
+    private void selectCell(int depth, int count) {
+        int best = depth;
+        int bestCount = Integer.MAX_VALUE;
+        for (int i = depth; i < count; i++) {
+            int cell = emptyCells[i];
+            int candidateCount = bitBoard.candidateCount(cell / size, cell % size);
+            if (candidateCount < bestCount) {
+                best = i;
+                bestCount = candidateCount;
+                if (candidateCount <= 1) {
+                    break;
+                }
+            }
+        }
+        int temp = emptyCells[depth];
+        emptyCells[depth] = emptyCells[best];
+        emptyCells[best] = temp;
+    }
+
+    /**
+     * Fills the digit ordering that starts at the given offset with a fresh random permutation.
+     * The permutation is built from scratch rather than by shuffling the previous one, so it depends
+     * only on the generator, which keeps seeded generation reproducible when a solver is reused.
+     *
+     * @param offset The index of the first digit of the ordering.
+     */
+    private void shuffle(int offset) {
+        orders[offset] = 1;
+        for (int i = 1; i < size; i++) {
+            int j = random.nextInt(i + 1);
+            orders[offset + i] = orders[offset + j];
+            orders[offset + j] = i + 1;
+        }
+    }
+}
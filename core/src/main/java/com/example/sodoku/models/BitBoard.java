@@ -0,0 +1,143 @@
+package com.example.sodoku.models;
+
+/**
+ * Keeps one bitmask per row, column and block of a Sudoku board, where bit {@code num - 1}
+ * is set when the digit {@code num} is already used in that unit.
+ * With the masks kept up to date on every place/remove, checking whether a digit is legal
+ * is a single AND and the candidates of a cell are the complement of three ORed masks.
+ */
+public class BitBoard {
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int fullMask;
+    private final int[] rowMasks;
+    private final int[] colMasks;
+    private final int[] blockMasks;
+
+    /**
+     * Creates an empty bitboard for a board of the given geometry.
+     *
+     * @param geometry The shape of the board.
+     */
+    public BitBoard(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.fullMask = (1 << size) - 1;
+        this.rowMasks = new int[size];
+        this.colMasks = new int[size];
+        this.blockMasks = new int[size];
+    }
+
+    /**
+     * Clears every mask, leaving the bitboard as if the board were empty.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            rowMasks[i] = 0;
+            colMasks[i] = 0;
+            blockMasks[i] = 0;
+        }
+    }
+
+    /**
+     * Rebuilds the masks from the given Sudoku matrix. Cells with value 0 are treated as empty.
+     *
+     * @param sudoku The Sudoku matrix to load.
+     */
+    public void load(int[][] sudoku) {
+        clear();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (sudoku[row][col] != 0) {
+                    place(row, col, sudoku[row][col]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the block that contains the given cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The block index, numbered in row-major order.
+     */
+    public int blockIndex(int row, int col) {
+        return geometry.blockIndex(row, col);
+    }
+
+    /**
+     * Marks the digit as used in the row, column and block of the given cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param num The digit placed in the cell.
+     */
+    public void place(int row, int col, int num) {
+        int bit = 1 << (num - 1);
+        rowMasks[row] |= bit;
+        colMasks[col] |= bit;
+        blockMasks[blockIndex(row, col)] |= bit;
+    }
+
+    /**
+     * Marks the digit as free again in the row, column and block of the given cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param num The digit removed from the cell.
+     */
+    public void remove(int row, int col, int num) {
+        int bit = ~(1 << (num - 1));
+        rowMasks[row] &= bit;
+        colMasks[col] &= bit;
+        blockMasks[blockIndex(row, col)] &= bit;
+    }
+
+    /**
+     * Checks if a digit can be placed in the given cell without repeating it in its row,
+     * column or block.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param num The digit to check.
+     * @return true if the digit is not used in any unit of the cell; false otherwise.
+     */
+    public boolean canPlace(int row, int col, int num) {
+        return (used(row, col) & (1 << (num - 1))) == 0;
+    }
+
+    /**
+     * Returns the digits already used by the units of the given cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return A mask with bit {@code num - 1} set for every used digit.
+     */
+    public int used(int row, int col) {
+        return rowMasks[row] | colMasks[col] | blockMasks[blockIndex(row, col)];
+    }
+
+    /**
+     * Returns the digits that can still be placed in the given cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return A mask with bit {@code num - 1} set for every candidate digit.
+     */
+    public int candidates(int row, int col) {
+        return ~used(row, col) & fullMask;
+    }
+
+    /**
+     * Returns how many digits can still be placed in the given cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The number of candidate digits.
+     */
+    public int candidateCount(int row, int col) {
+        return Integer.bitCount(candidates(row, col));
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.sodoku.models;
+
+import java.util.List;
+
+/**
+ * Describes the shape of a Sudoku board: a square grid of {@code size = blockRows * blockCols}
+ * cells per side, divided into {@code size} blocks of {@code blockRows x blockCols} cells.
+ * The board uses the digits 1 to {@code size}.
+ */
+public final class BoardGeometry {
+
+    /**
+     * Largest supported board side, bounded by the digit masks stored in an {@code int}.
+     */
+    public static final int MAX_SIZE = 30;
+
+    public static final BoardGeometry FOUR = new BoardGeometry(2, 2);
+    public static final BoardGeometry SIX = new BoardGeometry(2, 3);
+    public static final BoardGeometry NINE = new BoardGeometry(3, 3);
+    public static final BoardGeometry TWELVE = new BoardGeometry(3, 4);
+    public static final BoardGeometry SIXTEEN = new BoardGeometry(4, 4);
+    public static final BoardGeometry TWENTY_FIVE = new BoardGeometry(5, 5);
+
+    private static final List<BoardGeometry> STANDARD = List.of(FOUR, SIX, NINE, TWELVE, SIXTEEN, TWENTY_FIVE);
+
+    private final int blockRows;
+    private final int blockCols;
+    private final int size;
+
+    /**
+     * Creates a geometry with blocks of the given shape.
+     *
+     * @param blockRows The number of rows of each block.
+     * @param blockCols The number of columns of each block.
+     */
+    private BoardGeometry(int blockRows, int blockCols) {
+        this.blockRows = blockRows;
+        this.blockCols = blockCols;
+        this.size = blockRows * blockCols;
+    }
+
+    /**
+     * Returns the geometry with blocks of the given shape, reusing the standard instances when possible.
+     *
+     * @param blockRows The number of rows of each block.
+     * @param blockCols The number of columns of each block.
+     * @return The geometry for a board of side {@code blockRows * blockCols}.
+     * @throws IllegalArgumentException if the block shape is not positive or the board would be too large.
+     */
+    public static BoardGeometry of(int blockRows, int blockCols) {
+        if (blockRows < 1 || blockCols < 1 || blockRows * blockCols > MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid block shape: " + blockRows + "x" + blockCols);
+        }
+        for (BoardGeometry geometry : STANDARD) {
+            if (geometry.blockRows == blockRows && geometry.blockCols == blockCols) {
+                return geometry;
+            }
+        }
+        return new BoardGeometry(blockRows, blockCols);
+    }
+
+    /**
+     * Returns the geometries offered by the game: 4x4, 6x6, 9x9, 12x12, 16x16 and 25x25.
+     *
+     * @return An immutable list of the standard geometries.
+     */
+    public static List<BoardGeometry> standard() {
+        return STANDARD;
+    }
+
+    /**
+     * Returns the number of rows (and columns) of the board, which is also the largest digit.
+     *
+     * @return The side of the board.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of rows of each block.
+     *
+     * @return The block height.
+     */
+    public int getBlockRows() {
+        return blockRows;
+    }
+
+    /**
+     * Returns the number of columns of each block.
+     *
+     * @return The block width.
+     */
+    public int getBlockCols() {
+        return blockCols;
+    }
+
+    /**
+     * Returns the total number of cells of the board.
+     *
+     * @return {@code size * size}.
+     */
+    public int getCellCount() {
+        return size * size;
+    }
+
+    /**
+     * Returns the number of blocks in each horizontal band of the board.
+     *
+     * @return {@code size / blockCols}.
+     */
+    public int getBlocksPerRow() {
+        return blockRows;
+    }
+
+    /**
+     * Returns the number of blocks in each vertical stack of the board.
+     *
+     * @return {@code size / blockRows}.
+     */
+    public int getBlocksPerColumn() {
+        return blockCols;
+    }
+
+    /**
+     * Returns the index of the block that contains the given cell.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @return The block index, numbered in row-major order.
+     */
+    public int blockIndex(int row, int col) {
+        return (row / blockRows) * blockRows + col / blockCols;
+    }
+
+    /**
+     * Returns the first row of the given block.
+     *
+     * @param block The block index.
+     * @return The row index of the top-left cell of the block.
+     */
+    public int blockStartRow(int block) {
+        return (block / blockRows) * blockRows;
+    }
+
+    /**
+     * Returns the first column of the given block.
+     *
+     * @param block The block index.
+     * @return The column index of the top-left cell of the block.
+     */
+    public int blockStartCol(int block) {
+        return (block % blockRows) * blockCols;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof BoardGeometry)) {
+            return false;
+        }
+        BoardGeometry geometry = (BoardGeometry) other;
+        return blockRows == geometry.blockRows && blockCols == geometry.blockCols;
+    }
+
+    @Override
+    public int hashCode() {
+        return blockRows * 31 + blockCols;
+    }
+
+    @Override
+    public String toString() {
+        return size + "x" + size;
+    }
+}
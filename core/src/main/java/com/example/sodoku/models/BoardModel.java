@@ -0,0 +1,550 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.IBoard;
+import com.example.sodoku.interfaces.ISolver;
+import com.example.sodoku.telemetry.GenerationEvent;
+import com.example.sodoku.telemetry.SolveEvent;
+import com.example.sodoku.telemetry.Telemetry;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * This class implements the IBoard interface and provides methods to manage
+ * a Sudoku board, including initialization, solving, and number removal.
+ * The full board is either solved from empty or, with {@link FillMode#TRANSFORM}, derived from a
+ * cached seed grid by random symmetries, which costs a few hundred nanoseconds instead of a search,
+ * or, with {@link FillMode#UNIFORM} on small boards, drawn uniformly from a {@link SolutionIndex}.
+ */
+public class BoardModel implements IBoard {
+
+    private static final int CHECK_NODES_PER_DIGIT = 2;
+
+    private final BoardGeometry geometry;
+    private final int sizePref;
+    private final int rowsB;
+    private final int colsB;
+    private final int[][] sudoku;
+    private final int[][] boardFull;
+    private final ReseedableRandom random;
+    private final SolverType solverType;
+    private final Difficulty difficulty;
+    private final FillMode fillMode;
+    private final int[][] seedGrids;
+    private final SolutionIndex solutionIndex;
+    private final int[] rowOrder;
+    private final int[] colOrder;
+    private final int[] bandOrder;
+    private final int[] stackOrder;
+    private final int[] digitOrder;
+    private final ISolver solver;
+    private final PropagationSolver checker;
+    private long id = PuzzleId.NONE;
+    private int uniquenessChecks;
+    private long uniquenessNodes;
+
+    /**
+     * Initializes a new 6x6 BoardModel instance, creating an empty Sudoku matrix,
+     * filling it with a solved version, and removing numbers to create a playable board
+     * with a single solution.
+     */
+    public BoardModel() {
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Initializes a new BoardModel instance of the given geometry, creating an empty Sudoku matrix,
+     * filling it with a solved version, and removing numbers to create a playable board
+     * with a single solution.
+     *
+     * @param geometry The shape of the board to generate.
+     */
+    public BoardModel(BoardGeometry geometry) {
+        this(geometry, SolverType.BACKTRACKING);
+    }
+
+    /**
+     * Initializes a new BoardModel instance of the given geometry, using the given solver engine
+     * to fill the board before numbers are removed.
+     *
+     * @param geometry The shape of the board to generate.
+     * @param solverType The solver engine used by {@link #solveSudoku(int[][])}.
+     */
+    public BoardModel(BoardGeometry geometry, SolverType solverType) {
+        this(geometry, solverType, new SplittableRandom());
+    }
+
+    /**
+     * Initializes a new BoardModel instance of the given geometry and solver engine, drawing every
+     * random choice (digit orders and removed cells) from the given generator.
+     *
+     * @param geometry The shape of the board to generate.
+     * @param solverType The solver engine used by {@link #solveSudoku(int[][])}.
+     * @param random The generator that drives the generation of this board.
+     */
+    public BoardModel(BoardGeometry geometry, SolverType solverType, RandomGenerator random) {
+        this(geometry, solverType, Difficulty.MEDIUM, random);
+    }
+
+    /**
+     * Initializes a new BoardModel instance of the given geometry, solver engine and difficulty,
+     * drawing every random choice from the given generator.
+     *
+     * @param geometry The shape of the board to generate.
+     * @param solverType The solver engine used by {@link #solveSudoku(int[][])}.
+     * @param difficulty The difficulty level, which sets how many cells are emptied.
+     * @param random The generator that drives the generation of this board.
+     */
+    public BoardModel(BoardGeometry geometry, SolverType solverType, Difficulty difficulty, RandomGenerator random) {
+        this(geometry, solverType, difficulty, FillMode.SEARCH, random);
+    }
+
+    /**
+     * Initializes a new BoardModel instance of the given geometry, solver engine, difficulty and fill
+     * mode, drawing every random choice from the given generator.
+     *
+     * @param geometry The shape of the board to generate.
+     * @param solverType The solver engine used by {@link #solveSudoku(int[][])}.
+     * @param difficulty The difficulty level, which sets how many cells are emptied.
+     * @param fillMode How the board is filled before cells are removed.
+     * @param random The generator that drives the generation of this board.
+     * @throws IllegalArgumentException if the fill mode is {@link FillMode#UNIFORM} and the board is too
+     *         large to index.
+     */
+    public BoardModel(BoardGeometry geometry, SolverType solverType, Difficulty difficulty, FillMode fillMode,
+                      RandomGenerator random) {
+        this.geometry = geometry;
+        this.difficulty = difficulty;
+        this.fillMode = fillMode;
+        this.random = new ReseedableRandom(random);
+        this.solverType = solverType;
+        this.sizePref = geometry.getSize();
+        this.rowsB = geometry.getBlockRows();
+        this.colsB = geometry.getBlockCols();
+        this.solver = solverType.create(geometry, this.random);
+        this.checker = new PropagationSolver(geometry, this.random);
+        this.checker.setNodeLimit((long) sizePref * CHECK_NODES_PER_DIGIT);
+        this.sudoku = new int[sizePref][sizePref];
+        this.boardFull = new int[sizePref][sizePref];
+        this.seedGrids = fillMode == FillMode.TRANSFORM ? SeedGrids.of(geometry) : null;
+        this.solutionIndex = fillMode == FillMode.UNIFORM ? SolutionIndex.of(geometry) : null;
+        this.rowOrder = new int[sizePref];
+        this.colOrder = new int[sizePref];
+        this.bandOrder = new int[sizePref / rowsB];
+        this.stackOrder = new int[sizePref / colsB];
+        this.digitOrder = new int[sizePref + 1];
+
+        regenerate();
+    }
+
+    /**
+     * Initializes a new BoardModel instance holding the puzzle of the given ID, with the geometry,
+     * solver engine, difficulty and fill mode the ID encodes.
+     *
+     * @param id The puzzle ID.
+     * @throws IllegalArgumentException if the ID is not valid.
+     */
+    public BoardModel(long id) {
+        this(PuzzleId.geometry(id), PuzzleId.solverType(id), PuzzleId.difficulty(id), PuzzleId.fillMode(id),
+                new SplittableRandom(PuzzleId.seed(id)));
+        this.id = id;
+    }
+
+    /**
+     * Generates the puzzle of the given seed in place, reusing the matrices and solvers of this board.
+     * The result depends only on the seed, the geometry, the solver engine, the difficulty and the fill
+     * mode, so it is the puzzle of {@link PuzzleId#of(BoardGeometry, SolverType, Difficulty, FillMode, long)},
+     * returned by {@link #getId()}.
+     *
+     * @param seed The seed of the puzzle; only its low {@link PuzzleId#SEED_BITS} bits are used.
+     */
+    public void regenerate(long seed) {
+        long puzzleId = PuzzleId.of(geometry, solverType, difficulty, fillMode, seed);
+        random.reseed(PuzzleId.seed(puzzleId));
+        regenerate();
+        this.id = puzzleId;
+    }
+
+    /**
+     * Generates a new puzzle in place, reusing the matrices and solvers of this board, with the next
+     * draws of its generator. {@link #getSudoku()} and {@link #getBoardFull()} return the same arrays
+     * with the new content.
+     */
+    public void regenerate() {
+        id = PuzzleId.NONE;
+        if (Telemetry.ENABLED) {
+            regenerateInstrumented();
+            return;
+        }
+        initializeSudoku(this.sudoku);
+        keepSolution();
+        removeNumbersUnique(this.sudoku);
+    }
+
+    /**
+     * Generates a new puzzle like {@link #regenerate()}, timing its fill and removal phases and
+     * counting the uniqueness checks of the removal.
+     */
+    private void regenerateInstrumented() {
+        GenerationEvent event = GenerationEvent.start();
+        initializeSudoku(this.sudoku);
+        keepSolution();
+        event.filled();
+        uniquenessChecks = 0;
+        uniquenessNodes = 0;
+        int removed = removeNumbersUnique(this.sudoku);
+        event.finish(solverType, geometry, difficulty, removed, uniquenessChecks, uniquenessNodes);
+    }
+
+    /**
+     * Copies the freshly solved board into the full board before cells are removed.
+     */
+    private void keepSolution() {
+        for (int i = 0; i < sizePref; i++) {
+            System.arraycopy(this.sudoku[i], 0, this.boardFull[i], 0, sizePref);
+        }
+    }
+
+    /**
+     * Creates a copy of the original Sudoku matrix.
+     *
+     * @param original The original Sudoku matrix to copy.
+     * @return A new 2D array that is a copy of the original matrix.
+     */
+    public int[][] copySudoku(int[][] original) {
+        int[][] copy = new int[sizePref][sizePref];
+        for (int i = 0; i < sizePref; i++) {
+            System.arraycopy(original[i], 0, copy[i], 0, sizePref);
+        }
+        return copy;
+    }
+
+    /**
+     * Initializes the given Sudoku matrix to an empty state and solves it, or overwrites it with a
+     * transformed seed grid or a uniformly drawn grid, as the fill mode of the board says.
+     *
+     * @param sudoku The Sudoku matrix to initialize.
+     */
+    public void initializeSudoku(int[][] sudoku) {
+        switch (fillMode) {
+            case TRANSFORM:
+                transformSeedGrid(sudoku);
+                break;
+            case UNIFORM:
+                solutionIndex.unrank(solutionIndex.randomRank(random), sudoku);
+                break;
+            case SEARCH:
+            default:
+                for (int i = 0; i < sizePref; i++) {
+                    Arrays.fill(sudoku[i], 0);
+                }
+                solveSudoku(sudoku);
+                break;
+        }
+    }
+
+    /**
+     * Fills the given Sudoku matrix with a random seed grid under random symmetries: the digits are
+     * relabeled, the bands and the rows within each band are reordered, the stacks and the columns
+     * within each stack are reordered and, when blocks are square, the grid is transposed half of the
+     * time. Every one of these maps a solution grid to another, so no cell has to be checked.
+     *
+     * @param sudoku The Sudoku matrix to fill.
+     */
+    private void transformSeedGrid(int[][] sudoku) {
+        int[] seed = seedGrids[random.nextInt(seedGrids.length)];
+        permuteLines(rowOrder, bandOrder, rowsB);
+        permuteLines(colOrder, stackOrder, colsB);
+        for (int digit = 0; digit <= sizePref; digit++) {
+            digitOrder[digit] = digit;
+        }
+        shuffle(digitOrder, 1, sizePref + 1);
+        boolean transpose = rowsB == colsB && random.nextBoolean();
+        for (int i = 0; i < sizePref; i++) {
+            int[] row = sudoku[i];
+            int source = rowOrder[i];
+            for (int j = 0; j < sizePref; j++) {
+                int cell = transpose ? colOrder[j] * sizePref + source : source * sizePref + colOrder[j];
+                row[j] = digitOrder[seed[cell]];
+            }
+        }
+    }
+
+    /**
+     * Draws a random order of the rows or columns that keeps every band or stack together.
+     *
+     * @param order Receives the source line of every line of the board.
+     * @param groupOrder Scratch space for the order of the bands or stacks.
+     * @param span The number of lines in a band or stack.
+     */
+    private void permuteLines(int[] order, int[] groupOrder, int span) {
+        for (int group = 0; group < groupOrder.length; group++) {
+            groupOrder[group] = group;
+        }
+        shuffle(groupOrder, 0, groupOrder.length);
+        for (int group = 0; group < groupOrder.length; group++) {
+            int first = group * span;
+            for (int k = 0; k < span; k++) {
+                order[first + k] = groupOrder[group] * span + k;
+            }
+            shuffle(order, first, first + span);
+        }
+    }
+
+    /**
+     * Shuffles a range of an array in place.
+     *
+     * @param array The array to shuffle.
+     * @param from The first index of the range.
+     * @param to The index after the last of the range.
+     */
+    private void shuffle(int[] array, int from, int to) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+
+    /**
+     * Checks if a number can be safely placed at the specified position in the Sudoku matrix.
+     *
+     * @param sudoku The current Sudoku matrix.
+     * @param row The row index where the number will be placed.
+     * @param col The column index where the number will be placed.
+     * @param num The number to be placed in the matrix.
+     * @return true if the number can be placed without violating Sudoku rules; false otherwise.
+     * @deprecated Scans the row, column and block on every call. Keep a {@link BitBoard} of the board
+     *             and use {@link BitBoard#canPlace(int, int, int)}, which answers with one mask test.
+     */
+    @Deprecated
+    public boolean isSafe(int[][] sudoku, int row, int col, int num) {
+        for (int x = 0; x < sizePref; x++) {
+            if (sudoku[row][x] == num) {
+                return false;
+            }
+        }
+
+        for (int x = 0; x < sizePref; x++) {
+            if (sudoku[x][col] == num) {
+                return false;
+            }
+        }
+
+        int startRow = row - row % rowsB;
+        int startCol = col - col % colsB;
+        for (int i = 0; i < rowsB; i++) {
+            for (int j = 0; j < colsB; j++) {
+                if (sudoku[i + startRow][j + startCol] == num) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Solves the given Sudoku matrix using the board's solver engine.
+     *
+     * @param sudoku The Sudoku matrix to solve.
+     * @return true if the Sudoku was solved successfully; false if no solution exists.
+     */
+    public boolean solveSudoku(int[][] sudoku) {
+        if (!Telemetry.ENABLED) {
+            return solver.solve(sudoku);
+        }
+        SolveEvent event = SolveEvent.start();
+        boolean solved = solver.solve(sudoku);
+        event.finish(solverType, geometry, solver.getLastStats(), solved);
+        return solved;
+    }
+
+    /**
+     * Randomly shuffles the elements of an array.
+     *
+     * @param array The array to be shuffled.
+     * @deprecated No longer used: the solvers shuffle the candidate digits of each cell themselves.
+     */
+    @Deprecated
+    public void shuffleArray(Integer[] array) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+    }
+
+    /**
+     * Removes a specified number of elements from random positions in each block of the Sudoku matrix.
+     * Two thirds of the cells of every block are emptied.
+     *
+     * @param sudoku The Sudoku matrix from which numbers will be removed.
+     * @deprecated Can leave puzzles with several solutions; use {@link #removeNumbersUnique(int[][])}.
+     */
+    @Deprecated
+    public void removeNumbersFromBlocks(int[][] sudoku) {
+        for (int blockRow = 0; blockRow < sizePref / rowsB; blockRow++) {
+            for (int blockCol = 0; blockCol < sizePref / colsB; blockCol++) {
+                int numbersToRemove = sizePref * 2 / 3;
+
+                boolean[][] positions = new boolean[rowsB][colsB];
+                for (int i = 0; i < rowsB; i++) {
+                    for (int j = 0; j < colsB; j++) {
+                        positions[i][j] = true;
+                    }
+                }
+
+                for (int i = 0; i < numbersToRemove; i++) {
+                    int randomPos;
+                    do {
+                        randomPos = random.nextInt(rowsB * colsB);
+                    } while (!positions[randomPos / colsB][randomPos % colsB]);
+
+                    positions[randomPos / colsB][randomPos % colsB] = false;
+
+                    sudoku[blockRow * rowsB + randomPos / colsB][blockCol * colsB + randomPos % colsB] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes numbers one cell at a time, in random order, keeping only the removals after which
+     * the puzzle still has exactly one solution. Since the puzzle is unique before each removal,
+     * emptying a cell creates a second solution only if the cell can hold another digit, so each
+     * removal is checked by looking for any solution with a different digit in that cell, which the
+     * propagation solver refutes much faster than it could enumerate two solutions. Each check has a
+     * node budget; when it runs out the removal is undone, so the puzzle stays unique and large boards
+     * keep a bounded generation time. Removal stops once the removal target of the board's difficulty
+     * is reached or every cell has been tried. On large boards the cells run out before the targets of
+     * the easier levels are reached, so the last removals are then put back until the puzzle has the
+     * {@link Difficulty#emptiedCount(int, int) emptied count} of its level; adding clues back keeps the
+     * puzzle unique.
+     *
+     * @param sudoku The solved Sudoku matrix from which numbers will be removed.
+     * @return The number of cells that were emptied.
+     */
+    public int removeNumbersUnique(int[][] sudoku) {
+        int cellCount = sizePref * sizePref;
+        int target = difficulty.removalTarget(cellCount);
+        int[] cells = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            cells[i] = i;
+        }
+        for (int i = cellCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int temp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = temp;
+        }
+
+        int[] values = new int[cellCount];
+        int removed = 0;
+        for (int i = 0; i < cellCount && removed < target; i++) {
+            int row = cells[i] / sizePref;
+            int col = cells[i] % sizePref;
+            int value = sudoku[row][col];
+            sudoku[row][col] = 0;
+            if (hasOtherSolution(sudoku, row, col, value)) {
+                sudoku[row][col] = value;
+            } else {
+                cells[removed] = cells[i];
+                values[removed++] = value;
+            }
+        }
+
+        int emptied = difficulty.emptiedCount(cellCount, removed);
+        while (removed > emptied) {
+            removed--;
+            sudoku[cells[removed] / sizePref][cells[removed] % sizePref] = values[removed];
+        }
+        return removed;
+    }
+
+    /**
+     * Checks if the puzzle can be solved with a digit other than the given one in an empty cell.
+     *
+     * @param sudoku The puzzle, with the cell already emptied.
+     * @param row The row index of the emptied cell.
+     * @param col The column index of the emptied cell.
+     * @param value The digit the cell held in the known solution.
+     * @return true if a solution with a different digit in the cell exists or could not be ruled out
+     *         within the node budget; false otherwise.
+     */
+    private boolean hasOtherSolution(int[][] sudoku, int row, int col, int value) {
+        boolean other = checker.hasSolutionExcluding(sudoku, row, col, value) || checker.getLastStats().isAborted();
+        if (Telemetry.ENABLED) {
+            uniquenessChecks++;
+            uniquenessNodes += checker.getLastStats().getNodes();
+        }
+        return other;
+    }
+
+    /**
+     * Retrieves the current Sudoku matrix.
+     *
+     * @return A 2D array representing the current state of the Sudoku matrix.
+     */
+    public int[][] getSudoku() {
+        return this.sudoku;
+    }
+
+    /**
+     * Retrieves a full, solved version of the Sudoku matrix.
+     *
+     * @return A 2D array representing the complete Sudoku board.
+     */
+    public int[][] getBoardFull() {
+       return this.boardFull;
+    }
+
+    /**
+     * Retrieves the ID of the current puzzle.
+     *
+     * @return The ID the puzzle was generated from by {@link #regenerate(long)}, or {@link PuzzleId#NONE}
+     *         if it was drawn from the running generator.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * Retrieves the solver engine used by this board.
+     *
+     * @return The type of the solver.
+     */
+    public SolverType getSolverType() {
+        return this.solverType;
+    }
+
+    /**
+     * Retrieves how the board is filled before cells are removed.
+     *
+     * @return The fill mode of the board.
+     */
+    public FillMode getFillMode() {
+        return this.fillMode;
+    }
+
+    /**
+     * Retrieves the difficulty level the board is generated with.
+     *
+     * @return The difficulty of the board.
+     */
+    public Difficulty getDifficulty() {
+        return this.difficulty;
+    }
+
+    /**
+     * Retrieves the shape of the board.
+     *
+     * @return The geometry of the Sudoku board.
+     */
+    public BoardGeometry getGeometry() {
+        return this.geometry;
+    }
+}
\ No newline at end of file
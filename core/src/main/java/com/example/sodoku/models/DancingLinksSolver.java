@@ -0,0 +1,405 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.ISolver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Exact-cover solver based on Knuth's Algorithm X with Dancing Links.
+ * The board is encoded as a matrix with one column per constraint (each cell holds a digit, and each
+ * row, column and block contains each digit once) and one row per (cell, digit) candidate.
+ * The links live in primitive arrays copied before every solve from a template that is built once
+ * per geometry and shared by all solvers, and the search uses an explicit stack, so solving does not allocate.
+ * Results are randomized by relabeling the digits and breaking ties between columns at random.
+ */
+public class DancingLinksSolver implements ISolver {
+
+    private static final int ROOT = 0;
+    private static final Map<BoardGeometry, Template> TEMPLATES = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final RandomGenerator random;
+    private final int columns;
+    private final Template template;
+    private final int[] left;
+    private final int[] right;
+    private final int[] up;
+    private final int[] down;
+    private final int[] columnOf;
+    private final int[] rowOf;
+    private final int[] columnSize;
+    private final int[] firstNodeOfRow;
+    private final boolean[] covered;
+    private final int[] stackColumn;
+    private final int[] stackRow;
+    private final int[] digits;
+    private final int[] labels;
+    private final SolverStats stats = new SolverStats();
+
+    /**
+     * Creates a solver for boards of the given geometry, building the exact-cover template of the
+     * geometry on first use.
+     *
+     * @param geometry The shape of the boards to solve.
+     * @param random The generator used to randomize the solutions found.
+     */
+    public DancingLinksSolver(BoardGeometry geometry, RandomGenerator random) {
+        this.size = geometry.getSize();
+        this.random = random;
+        this.template = TEMPLATES.computeIfAbsent(geometry, Template::new);
+        int cells = size * size;
+        int nodes = template.left.length;
+        this.columns = 4 * cells;
+        this.columnOf = template.columnOf;
+        this.rowOf = template.rowOf;
+        this.firstNodeOfRow = template.firstNodeOfRow;
+        this.left = new int[nodes];
+        this.right = new int[nodes];
+        this.up = new int[nodes];
+        this.down = new int[nodes];
+        this.columnSize = new int[columns + 1];
+        this.covered = new boolean[columns + 1];
+        this.stackColumn = new int[cells];
+        this.stackRow = new int[cells];
+        this.digits = new int[size + 1];
+        this.labels = new int[size + 1];
+    }
+
+    /**
+     * Solves the given Sudoku matrix in place.
+     *
+     * @param sudoku The Sudoku matrix to solve.
+     * @return true if the Sudoku was solved successfully; false if no solution exists.
+     */
+    public boolean solve(int[][] sudoku) {
+        shuffleDigits();
+        if (!prepare(sudoku)) {
+            return false;
+        }
+        int depth = search(1, true);
+        if (depth < 0) {
+            return false;
+        }
+        for (int i = 0; i < depth; i++) {
+            int candidate = rowOf[stackRow[i]];
+            int cell = candidate / size;
+            sudoku[cell / size][cell % size] = labels[candidate % size + 1];
+        }
+        stats.recordSolution(size * size - depth, 0, depth);
+        return true;
+    }
+
+    /**
+     * Counts the solutions of the given Sudoku matrix, stopping as soon as the limit is reached.
+     * The matrix is left unchanged.
+     *
+     * @param sudoku The Sudoku matrix to examine.
+     * @param limit The number of solutions after which counting stops.
+     * @return The number of solutions found, never more than {@code limit}.
+     */
+    public int countSolutions(int[][] sudoku, int limit) {
+        for (int d = 0; d <= size; d++) {
+            digits[d] = d;
+            labels[d] = d;
+        }
+        if (!prepare(sudoku)) {
+            return 0;
+        }
+        return search(limit, false);
+    }
+
+    /**
+     * Returns the statistics of the last call to {@link #solve(int[][])} or {@link #countSolutions(int[][], int)}.
+     *
+     * @return The statistics of the last solve.
+     */
+    public SolverStats getLastStats() {
+        return stats;
+    }
+
+    /**
+     * Restores the links from the template and covers the rows of the given clues.
+     *
+     * @param sudoku The Sudoku matrix whose non-zero cells are the clues.
+     * @return false if two clues conflict; true otherwise.
+     */
+    private boolean prepare(int[][] sudoku) {
+        stats.reset();
+        System.arraycopy(template.left, 0, left, 0, left.length);
+        System.arraycopy(template.right, 0, right, 0, right.length);
+        System.arraycopy(template.up, 0, up, 0, up.length);
+        System.arraycopy(template.down, 0, down, 0, down.length);
+        System.arraycopy(template.columnSize, 0, columnSize, 0, columnSize.length);
+        for (int i = 0; i <= columns; i++) {
+            covered[i] = false;
+        }
+
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (sudoku[row][col] != 0) {
+                    int digit = digits[sudoku[row][col]] - 1;
+                    int node = firstNodeOfRow[(row * size + col) * size + digit];
+                    int j = node;
+                    do {
+                        if (covered[columnOf[j]]) {
+                            return false;
+                        }
+                        j = right[j];
+                    } while (j != node);
+                    do {
+                        cover(columnOf[j]);
+                        j = right[j];
+                    } while (j != node);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Runs Algorithm X over the uncovered columns with an explicit stack.
+     *
+     * @param limit The number of solutions after which the search stops.
+     * @param keepFirst Whether to stop at the first solution leaving it on the stack.
+     * @return When {@code keepFirst} is set, the depth of the solution found or -1 if there is none;
+     *         otherwise the number of solutions found.
+     */
+    private int search(int limit, boolean keepFirst) {
+        int solutions = 0;
+        long nodes = 0;
+        long backtracks = 0;
+        int maxDepth = 0;
+        int result;
+        int depth = 0;
+        boolean forward = true;
+        while (true) {
+            if (forward) {
+                if (right[ROOT] == ROOT) {
+                    if (keepFirst) {
+                        result = depth;
+                        break;
+                    }
+                    if (++solutions >= limit) {
+                        result = solutions;
+                        break;
+                    }
+                    forward = false;
+                    continue;
+                }
+                int column = chooseColumn();
+                if (columnSize[column] == 0) {
+                    forward = false;
+                    continue;
+                }
+                cover(column);
+                stackColumn[depth] = column;
+                stackRow[depth] = down[column];
+                coverRow(stackRow[depth]);
+                nodes++;
+                if (++depth > maxDepth) {
+                    maxDepth = depth;
+                }
+            } else {
+                if (--depth < 0) {
+                    result = keepFirst ? -1 : solutions;
+                    break;
+                }
+                int node = stackRow[depth];
+                uncoverRow(node);
+                backtracks++;
+                node = down[node];
+                int column = stackColumn[depth];
+                if (node == column) {
+                    uncover(column);
+                    continue;
+                }
+                stackRow[depth] = node;
+                coverRow(node);
+                nodes++;
+                depth++;
+                forward = true;
+            }
+        }
+        stats.addSearch(nodes, backtracks, maxDepth);
+        return result;
+    }
+
+    /**
+     * Picks the uncovered column with the fewest rows, breaking ties at random.
+     *
+     * @return The index of the chosen column header.
+     */
+    private int chooseColumn() {
+        int best = right[ROOT];
+        int bestSize = columnSize[best];
+        int ties = 1;
+        for (int column = right[best]; column != ROOT; column = right[column]) {
+            int count = columnSize[column];
+            if (count < bestSize) {
+                best = column;
+                bestSize = count;
+                ties = 1;
+                if (count == 0) {
+                    break;
+                }
+            } else if (count == bestSize && random.nextInt(++ties) == 0) {
+                best = column;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Covers the columns of every other node in the row of the given node.
+     *
+     * @param node A node of the chosen row.
+     */
+    private void coverRow(int node) {
+        for (int j = right[node]; j != node; j = right[j]) {
+            cover(columnOf[j]);
+        }
+    }
+
+    /**
+     * Uncovers the columns of every other node in the row of the given node, in reverse order.
+     *
+     * @param node A node of the row to release.
+     */
+    private void uncoverRow(int node) {
+        for (int j = left[node]; j != node; j = left[j]) {
+            uncover(columnOf[j]);
+        }
+    }
+
+    /**
+     * Removes a column from the header list and every row that intersects it from the other columns.
+     *
+     * @param column The column header to cover.
+     */
+    private void cover(int column) {
+        covered[column] = true;
+        right[left[column]] = right[column];
+        left[right[column]] = left[column];
+        for (int i = down[column]; i != column; i = down[i]) {
+            for (int j = right[i]; j != i; j = right[j]) {
+                down[up[j]] = down[j];
+                up[down[j]] = up[j];
+                columnSize[columnOf[j]]--;
+            }
+        }
+    }
+
+    /**
+     * Reverts {@link #cover(int)}, restoring the column and its rows.
+     *
+     * @param column The column header to uncover.
+     */
+    private void uncover(int column) {
+        for (int i = up[column]; i != column; i = up[i]) {
+            for (int j = left[i]; j != i; j = left[j]) {
+                columnSize[columnOf[j]]++;
+                down[up[j]] = j;
+                up[down[j]] = j;
+            }
+        }
+        right[left[column]] = column;
+        left[right[column]] = column;
+        covered[column] = false;
+    }
+
+    /**
+     * Draws a random relabeling of the digits used while solving.
+     * {@code digits} maps a board digit to its internal label and {@code labels} maps it back.
+     */
+    private void shuffleDigits() {
+        for (int d = 0; d <= size; d++) {
+            labels[d] = d;
+        }
+        for (int i = size; i > 1; i--) {
+            int j = random.nextInt(i) + 1;
+            int temp = labels[i];
+            labels[i] = labels[j];
+            labels[j] = temp;
+        }
+        for (int d = 0; d <= size; d++) {
+            digits[labels[d]] = d;
+        }
+    }
+
+    /**
+     * Immutable, fully linked exact-cover matrix of a geometry, copied into each solver before a solve.
+     */
+    private static final class Template {
+
+        private final int[] left;
+        private final int[] right;
+        private final int[] up;
+        private final int[] down;
+        private final int[] columnSize;
+        private final int[] columnOf;
+        private final int[] rowOf;
+        private final int[] firstNodeOfRow;
+
+        /**
+         * Builds the full exact-cover matrix of the given geometry.
+         * Column 0 is the root header, followed by the cell, row-digit, column-digit and block-digit
+         * constraint headers; each candidate row then contributes four nodes.
+         *
+         * @param geometry The shape of the board.
+         */
+        private Template(BoardGeometry geometry) {
+            int size = geometry.getSize();
+            int cells = size * size;
+            int columns = 4 * cells;
+            int nodes = columns + 1 + 4 * cells * size;
+            this.left = new int[nodes];
+            this.right = new int[nodes];
+            this.up = new int[nodes];
+            this.down = new int[nodes];
+            this.columnSize = new int[columns + 1];
+            this.columnOf = new int[nodes];
+            this.rowOf = new int[nodes];
+            this.firstNodeOfRow = new int[cells * size];
+
+            for (int column = 0; column <= columns; column++) {
+                left[column] = column == 0 ? columns : column - 1;
+                right[column] = column == columns ? 0 : column + 1;
+                up[column] = column;
+                down[column] = column;
+                columnOf[column] = column;
+            }
+
+            int node = columns + 1;
+            int[] constraints = new int[4];
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int block = geometry.blockIndex(row, col);
+                    for (int digit = 0; digit < size; digit++) {
+                        int candidate = (row * size + col) * size + digit;
+                        constraints[0] = 1 + row * size + col;
+                        constraints[1] = 1 + cells + row * size + digit;
+                        constraints[2] = 1 + 2 * cells + col * size + digit;
+                        constraints[3] = 1 + 3 * cells + block * size + digit;
+                        firstNodeOfRow[candidate] = node;
+                        for (int k = 0; k < 4; k++) {
+                            int column = constraints[k];
+                            int current = node + k;
+                            columnOf[current] = column;
+                            rowOf[current] = candidate;
+                            left[current] = node + (k + 3) % 4;
+                            right[current] = node + (k + 1) % 4;
+                            up[current] = up[column];
+                            down[current] = column;
+                            down[up[column]] = current;
+                            up[column] = current;
+                            columnSize[column]++;
+                        }
+                        node += 4;
+                    }
+                }
+            }
+        }
+    }
+}
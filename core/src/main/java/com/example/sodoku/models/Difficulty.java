@@ -0,0 +1,75 @@
+package com.example.sodoku.models;
+
+/**
+ * Enumerates the difficulty levels a puzzle can be generated with. Each level sets how many
+ * cells the generator tries to empty; every puzzle keeps a single solution regardless of the level.
+ * The levels are best-effort: each removal is kept only if a budgeted check proves the puzzle still
+ * unique, so on boards larger than 9x9 the generator runs out of removable cells before the higher
+ * targets, and the levels then settle as {@link #emptiedCount(int, int)} describes.
+ */
+public enum Difficulty {
+
+    /**
+     * Empties half of the cells.
+     */
+    EASY(1, 2),
+
+    /**
+     * Empties two thirds of the cells, as the original 6x6 game did, or fewer on boards where that
+     * many cannot be removed.
+     */
+    MEDIUM(2, 3),
+
+    /**
+     * Empties as many cells as the generator can: every cell is tried once, in random order, and
+     * stays empty if uniqueness is proven within the check budget. Cells whose check runs out of
+     * budget keep their clue, so some removable cells may remain on large boards.
+     */
+    HARD(1, 1);
+
+    private final int numerator;
+    private final int denominator;
+
+    /**
+     * Creates a difficulty level that empties the given fraction of the cells.
+     *
+     * @param numerator The numerator of the fraction.
+     * @param denominator The denominator of the fraction.
+     */
+    Difficulty(int numerator, int denominator) {
+        this.numerator = numerator;
+        this.denominator = denominator;
+    }
+
+    /**
+     * Returns how many cells the generator tries to empty on a board with the given number of cells.
+     *
+     * @param cellCount The number of cells of the board.
+     * @return The number of cells to empty.
+     */
+    public int removalTarget(int cellCount) {
+        return cellCount * numerator / denominator;
+    }
+
+    /**
+     * Returns how many cells a puzzle of this level keeps empty once the generator has removed every
+     * cell it could, which on large boards falls short of the removal targets. The hardest level keeps
+     * all of them; an easier level whose target was not reached settles halfway between the count of
+     * the level below it and that maximum, so the levels still differ.
+     *
+     * @param cellCount The number of cells of the board.
+     * @param removable The number of cells the generator could empty.
+     * @return The number of cells to keep empty.
+     */
+    public int emptiedCount(int cellCount, int removable) {
+        int target = removalTarget(cellCount);
+        if (removable >= target) {
+            return target;
+        }
+        if (ordinal() == values().length - 1) {
+            return removable;
+        }
+        int easier = ordinal() == 0 ? 0 : values()[ordinal() - 1].emptiedCount(cellCount, removable);
+        return easier + (removable - easier) / 2;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.sodoku.models;
+
+import java.util.SplittableRandom;
+
+/**
+ * Rates puzzles by solving them the way a person would, with the {@link HintEngine} techniques only.
+ * Every placement is counted under the hardest technique it needed; when no technique applies, the
+ * first empty cell is revealed from the solution and counted as {@link Technique#REVEAL}, so every
+ * puzzle gets a complete rating.
+ * <p>
+ * A grader reuses its engine and buffers between puzzles and is meant to be used by one thread;
+ * parallel grading uses one grader per worker.
+ */
+public class DifficultyGrader {
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final HintEngine engine;
+    private final int[] uses = new int[Technique.values().length];
+    private final int[][] solution;
+    private PropagationSolver solver;
+
+    /**
+     * Creates a grader for puzzles of the given geometry.
+     *
+     * @param geometry The shape of the puzzles to grade.
+     */
+    public DifficultyGrader(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.engine = new HintEngine(geometry);
+        this.solution = new int[size][size];
+    }
+
+    /**
+     * Grades a puzzle, solving it first to know the values of revealed cells.
+     *
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @return The grade of the puzzle.
+     * @throws IllegalArgumentException if the puzzle has no solution.
+     */
+    public Grade grade(int[][] clues) {
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(clues[row], 0, solution[row], 0, size);
+        }
+        if (solver == null) {
+            solver = new PropagationSolver(geometry, new SplittableRandom());
+        }
+        if (!solver.solve(solution)) {
+            throw new IllegalArgumentException("The puzzle has no solution");
+        }
+        return grade(clues, solution);
+    }
+
+    /**
+     * Grades a puzzle whose solution is known.
+     *
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @param solution The solved board, used for the cells the techniques cannot deduce.
+     * @return The grade of the puzzle.
+     */
+    public Grade grade(int[][] clues, int[][] solution) {
+        for (int i = 0; i < uses.length; i++) {
+            uses[i] = 0;
+        }
+        engine.load(clues);
+        while (engine.getEmptyCount() > 0) {
+            Hint hint = engine.next();
+            if (hint != null && hint.getValue() == solution[hint.getRow()][hint.getCol()]) {
+                uses[hint.getTechnique().ordinal()]++;
+                engine.place(hint.getRow(), hint.getCol(), hint.getValue());
+            } else {
+                uses[Technique.REVEAL.ordinal()]++;
+                revealFirstEmpty(solution);
+            }
+        }
+        return new Grade(uses);
+    }
+
+    /**
+     * Places the solution value of the first empty cell.
+     *
+     * @param solution The solved board.
+     */
+    private void revealFirstEmpty(int[][] solution) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (engine.getValue(row, col) == 0) {
+                    engine.place(row, col, solution[row][col]);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.sodoku.models;
+
+/**
+ * Enumerates the ways a board is filled with a full solution before cells are removed.
+ */
+public enum FillMode {
+
+    /**
+     * Solves the empty board with the board's solver engine, so any solution grid can come out.
+     */
+    SEARCH,
+
+    /**
+     * Applies random symmetries (digit relabeling, row and band swaps, column and stack swaps and, on
+     * square blocks, transposition) to one of a few cached seed grids. No search is
+     * run, but only the grids equivalent to a seed grid can come out.
+     */
+    TRANSFORM,
+
+    /**
+     * Unranks a random rank of the {@link SolutionIndex} of the geometry, so every solution grid is
+     * equally likely. Only for geometries the index {@link SolutionIndex#supports(BoardGeometry) supports}.
+     */
+    UNIFORM
+}
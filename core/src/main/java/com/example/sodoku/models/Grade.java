@@ -0,0 +1,108 @@
+package com.example.sodoku.models;
+
+/**
+ * The difficulty rating of a puzzle computed by {@link DifficultyGrader}: how many times each
+ * {@link Technique} was needed to solve it, the hardest one, and a score that orders puzzles first by
+ * the hardest technique and then by the total effort.
+ */
+public final class Grade {
+
+    private static final int HARDEST_FACTOR = 1000;
+
+    private final int[] uses;
+    private final Technique hardest;
+    private final int score;
+
+    /**
+     * Creates a grade from the technique counts of a solve.
+     *
+     * @param uses The number of placements made with each technique, indexed by ordinal.
+     */
+    Grade(int[] uses) {
+        this.uses = uses.clone();
+        Technique top = Technique.NAKED_SINGLE;
+        int effort = 0;
+        for (Technique technique : Technique.values()) {
+            int count = uses[technique.ordinal()];
+            if (count > 0) {
+                top = technique;
+                effort += count * technique.getWeight();
+            }
+        }
+        this.hardest = top;
+        this.score = top.getWeight() * HARDEST_FACTOR + effort;
+    }
+
+    /**
+     * Returns the hardest technique the puzzle needed.
+     *
+     * @return The hardest technique, {@link Technique#REVEAL} if the techniques were not enough.
+     */
+    public Technique getHardest() {
+        return hardest;
+    }
+
+    /**
+     * Returns how many placements needed the given technique.
+     *
+     * @param technique The technique.
+     * @return The number of uses.
+     */
+    public int getUses(Technique technique) {
+        return uses[technique.ordinal()];
+    }
+
+    /**
+     * Returns the score of the puzzle: the weight of the hardest technique times 1000, plus the weight
+     * of every placement.
+     *
+     * @return The score, higher for harder puzzles.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns whether the puzzle was solved with the techniques alone, without revealing any cell.
+     *
+     * @return true if no cell had to be revealed.
+     */
+    public boolean isSolvedLogically() {
+        return uses[Technique.REVEAL.ordinal()] == 0;
+    }
+
+    /**
+     * Maps the grade to a difficulty level: singles only is easy, eliminations are medium,
+     * and puzzles beyond the techniques are hard.
+     *
+     * @return The difficulty level of the puzzle.
+     */
+    public Difficulty getDifficulty() {
+        return difficultyOf(hardest);
+    }
+
+    /**
+     * Maps the hardest technique of a puzzle to a difficulty level.
+     *
+     * @param hardest The hardest technique the puzzle needed.
+     * @return The difficulty level of the puzzle.
+     */
+    public static Difficulty difficultyOf(Technique hardest) {
+        if (hardest == Technique.NAKED_SINGLE) {
+            return Difficulty.EASY;
+        }
+        return hardest == Technique.REVEAL ? Difficulty.HARD : Difficulty.MEDIUM;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append("score=").append(score).append(", hardest=").append(hardest);
+        for (Technique technique : Technique.values()) {
+            if (uses[technique.ordinal()] > 0) {
+                text.append(", ").append(technique).append('=').append(uses[technique.ordinal()]);
+            }
+        }
+        return text.toString();
+    }
+}
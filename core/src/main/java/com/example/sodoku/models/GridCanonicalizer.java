@@ -0,0 +1,506 @@
+package com.example.sodoku.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps solved grids and puzzles to a canonical form under the symmetries that keep a board valid:
+ * relabeling the digits, permuting the rows inside a band and the bands themselves, permuting the
+ * columns inside a stack and the stacks themselves, and transposing when the blocks are square.
+ * Two grids or puzzles have the same canonical form exactly when one is a symmetry of the other, so
+ * the 64-bit {@link #gridHash(int[][]) canonical hash} identifies a whole class of equivalent boards.
+ * <p>
+ * The canonical form is the lexicographically smallest board of the class, read row by row. Once a
+ * top row and a column order are chosen, the digits are relabeled so the top row reads
+ * {@code 1..N}; the rows left in its band are then sorted, the rows of every other band are sorted
+ * and the bands are ordered by their first row. The search therefore only enumerates the top row and
+ * the column orders, dropping each candidate at its first row larger than the best so far.
+ * A puzzle is canonicalized through its solution: of the transformations that give the canonical
+ * solution, the one giving the smallest puzzle is kept.
+ * <p>
+ * The column orders grow factorially with the block size, so boards up to 12x12 are supported.
+ * A canonicalizer keeps its buffers between calls and is meant for a single thread.
+ */
+public class GridCanonicalizer {
+
+    /**
+     * The largest number of top rows times column orders enumerated for one orientation.
+     */
+    private static final int MAX_CANDIDATES = 1 << 20;
+
+    private final int size;
+    private final int blockRows;
+    private final int bands;
+    private final int[][] columnOrders;
+    private final int[][] inverseOrders;
+    private final boolean transposable;
+
+    private final int[] oriented;
+    private final int[] label;
+    private final int[] topColumn;
+    private final int[] candidate;
+    private final int[] candidateRows;
+    private final int[] first;
+    private final int[] bandSources;
+    private final int[] bandOrder;
+    private final int[] best;
+    private final List<int[]> ties = new ArrayList<>();
+    private int tieCount;
+    private boolean found;
+
+    /**
+     * Creates a canonicalizer for boards of the given shape.
+     *
+     * @param geometry The shape of the boards.
+     * @throws IllegalArgumentException if the board has too many symmetries to enumerate.
+     */
+    public GridCanonicalizer(BoardGeometry geometry) {
+        if (!supports(geometry)) {
+            throw new IllegalArgumentException("Too many symmetries to canonicalize " + geometry + " boards");
+        }
+        this.size = geometry.getSize();
+        this.blockRows = geometry.getBlockRows();
+        this.bands = geometry.getBlocksPerColumn();
+        int blockCols = geometry.getBlockCols();
+        int orders = (int) columnOrderCount(geometry);
+        this.transposable = blockRows == blockCols;
+        this.columnOrders = new int[orders][];
+        this.inverseOrders = new int[orders][];
+        int[] stacks = identity(blockRows);
+        int next = 0;
+        do {
+            next = addColumnOrders(stacks, 0, new int[size], blockCols, next);
+        } while (nextPermutation(stacks));
+        for (int order = 0; order < columnOrders.length; order++) {
+            inverseOrders[order] = new int[size];
+            for (int col = 0; col < size; col++) {
+                inverseOrders[order][columnOrders[order][col]] = col;
+            }
+        }
+
+        int cells = geometry.getCellCount();
+        this.oriented = new int[cells];
+        this.label = new int[size + 1];
+        this.topColumn = new int[size + 1];
+        this.candidate = new int[cells];
+        this.candidateRows = new int[size];
+        this.first = new int[size];
+        this.bandSources = new int[size];
+        this.bandOrder = new int[bands];
+        this.best = new int[cells];
+    }
+
+    /**
+     * Checks if boards of the given shape have few enough symmetries to be canonicalized.
+     *
+     * @param geometry The shape of the boards.
+     * @return true if a canonicalizer can be created for the shape.
+     */
+    public static boolean supports(BoardGeometry geometry) {
+        return columnOrderCount(geometry) * geometry.getSize() <= MAX_CANDIDATES;
+    }
+
+    /**
+     * Returns the canonical form of a solved grid.
+     *
+     * @param grid A complete, valid grid.
+     * @return A new matrix holding the canonical grid.
+     */
+    public int[][] canonicalGrid(int[][] grid) {
+        searchGrid(grid);
+        return toMatrix(best);
+    }
+
+    /**
+     * Returns the canonical form of a puzzle.
+     *
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @param solution The solution of the puzzle.
+     * @return A new matrix holding the canonical puzzle, with 0 in the empty cells.
+     */
+    public int[][] canonicalPuzzle(int[][] clues, int[][] solution) {
+        searchPuzzle(clues, solution);
+        return toMatrix(best);
+    }
+
+    /**
+     * Returns the hash of the canonical form of a solved grid. Equivalent grids have the same hash.
+     *
+     * @param grid A complete, valid grid.
+     * @return The 64-bit canonical hash.
+     */
+    public long gridHash(int[][] grid) {
+        searchGrid(grid);
+        return hash(best);
+    }
+
+    /**
+     * Returns the hash of the canonical form of a puzzle. Equivalent puzzles have the same hash.
+     *
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @param solution The solution of the puzzle.
+     * @return The 64-bit canonical hash.
+     */
+    public long puzzleHash(int[][] clues, int[][] solution) {
+        searchPuzzle(clues, solution);
+        return hash(best);
+    }
+
+    /**
+     * Finds the canonical grid, leaving it in {@code best} and every transformation reaching it in
+     * {@code ties}.
+     *
+     * @param grid A complete, valid grid.
+     */
+    private void searchGrid(int[][] grid) {
+        found = false;
+        tieCount = 0;
+        for (int transpose = 0; transpose < (transposable ? 2 : 1); transpose++) {
+            orient(grid, transpose == 1);
+            for (int top = 0; top < size; top++) {
+                for (int col = 0; col < size; col++) {
+                    topColumn[oriented[top * size + col]] = col;
+                }
+                for (int order = 0; order < columnOrders.length; order++) {
+                    tryCandidate(transpose, top, order);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the canonical puzzle, leaving it in {@code best}.
+     *
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @param solution The solution of the puzzle.
+     */
+    private void searchPuzzle(int[][] clues, int[][] solution) {
+        searchGrid(solution);
+        found = false;
+        for (int t = 0; t < tieCount; t++) {
+            int[] tie = ties.get(t);
+            orient(clues, tie[0] == 1);
+            int[] columns = columnOrders[tie[1]];
+            int cmp = found ? 0 : -1;
+            for (int row = 0; row < size && cmp <= 0; row++) {
+                int source = tie[2 + row] * size;
+                for (int col = 0; col < size; col++) {
+                    int value = oriented[source + columns[col]];
+                    candidate[row * size + col] = value == 0 ? 0 : tie[2 + size + value];
+                }
+                if (cmp == 0) {
+                    cmp = compareRows(candidate, row, best, row);
+                }
+            }
+            if (cmp < 0) {
+                System.arraycopy(candidate, 0, best, 0, candidate.length);
+                found = true;
+            }
+        }
+    }
+
+    /**
+     * Builds the smallest grid with the given top row and column order and compares it with the best
+     * grid found so far. The digits of a column are all different, so the rows of a band sort by their
+     * first digit and the bands by their smallest one: the row order comes from the first column
+     * alone, and a row is only relabeled when its first digit ties with the best grid.
+     *
+     * @param transpose 1 if the grid was transposed, 0 otherwise.
+     * @param top The row of the oriented grid that becomes the top row.
+     * @param order The index of the column order.
+     */
+    private void tryCandidate(int transpose, int top, int order) {
+        int[] columns = columnOrders[order];
+        int topBand = top / blockRows;
+        if (found) {
+            // The second row is the row of the top band with the smallest new label in the first
+            // column; compare it with the best grid before building anything else.
+            int[] inverse = inverseOrders[order];
+            int second = -1;
+            int smallest = size + 1;
+            for (int row = topBand * blockRows; row < (topBand + 1) * blockRows; row++) {
+                int value = inverse[topColumn[oriented[row * size + columns[0]]]] + 1;
+                if (row != top && value < smallest) {
+                    second = row;
+                    smallest = value;
+                }
+            }
+            int cmp = smallest - best[size];
+            for (int col = 1; col < size && cmp == 0; col++) {
+                cmp = inverse[topColumn[oriented[second * size + columns[col]]]] + 1 - best[size + col];
+            }
+            if (cmp > 0) {
+                return;
+            }
+        }
+        for (int col = 0; col < size; col++) {
+            label[oriented[top * size + columns[col]]] = col + 1;
+        }
+        for (int row = 0; row < size; row++) {
+            first[row] = label[oriented[row * size + columns[0]]];
+        }
+        candidateRows[0] = top;
+        sortBand(topBand, top, 1);
+        int others = 0;
+        for (int band = 0; band < bands; band++) {
+            if (band != topBand) {
+                int start = (others + 1) * blockRows;
+                sortBand(band, -1, start);
+                int position = others++;
+                while (position > 0 && first[candidateRows[bandOrder[position - 1]]] > first[candidateRows[start]]) {
+                    bandOrder[position] = bandOrder[position - 1];
+                    position--;
+                }
+                bandOrder[position] = start;
+            }
+        }
+        System.arraycopy(candidateRows, blockRows, bandSources, 0, size - blockRows);
+        for (int i = 0; i < others; i++) {
+            System.arraycopy(bandSources, bandOrder[i] - blockRows, candidateRows, (i + 1) * blockRows, blockRows);
+        }
+
+        int cmp = found ? 0 : -1;
+        for (int row = 1; row < size && cmp == 0; row++) {
+            cmp = first[candidateRows[row]] - best[row * size];
+            if (cmp == 0) {
+                relabelRow(candidateRows[row], columns, candidate, row);
+                cmp = compareRows(candidate, row, best, row);
+            }
+        }
+        if (cmp > 0) {
+            return;
+        }
+        if (cmp < 0) {
+            for (int row = 0; row < size; row++) {
+                relabelRow(candidateRows[row], columns, best, row);
+            }
+            found = true;
+            tieCount = 0;
+        }
+        addTie(transpose, order);
+    }
+
+    /**
+     * Writes the rows of a band into the row order, sorted by their first digit, optionally keeping
+     * one row out of the band.
+     *
+     * @param band The band of the oriented grid.
+     * @param skip A row of the band already placed, or -1.
+     * @param start The position in the row order of the first row written.
+     */
+    private void sortBand(int band, int skip, int start) {
+        int end = start;
+        for (int source = band * blockRows; source < (band + 1) * blockRows; source++) {
+            if (source == skip) {
+                continue;
+            }
+            int position = end++;
+            while (position > start && first[candidateRows[position - 1]] > first[source]) {
+                candidateRows[position] = candidateRows[position - 1];
+                position--;
+            }
+            candidateRows[position] = source;
+        }
+    }
+
+    /**
+     * Writes a row of the oriented grid with its columns reordered and its digits relabeled.
+     *
+     * @param source The row of the oriented grid.
+     * @param columns The column order.
+     * @param rows The destination.
+     * @param row The destination row.
+     */
+    private void relabelRow(int source, int[] columns, int[] rows, int row) {
+        int from = source * size;
+        int to = row * size;
+        for (int col = 0; col < size; col++) {
+            rows[to + col] = label[oriented[from + columns[col]]];
+        }
+    }
+
+    /**
+     * Compares two rows lexicographically.
+     *
+     * @param a The buffer of the first row.
+     * @param rowA The first row.
+     * @param b The buffer of the second row.
+     * @param rowB The second row.
+     * @return A negative number, zero or a positive number as the first row is smaller, equal or larger.
+     */
+    private int compareRows(int[] a, int rowA, int[] b, int rowB) {
+        int offsetA = rowA * size;
+        int offsetB = rowB * size;
+        for (int col = 0; col < size; col++) {
+            int diff = a[offsetA + col] - b[offsetB + col];
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Remembers a transformation that gives the best grid: the orientation, the column order, the
+     * source of every row and the relabeling of every digit.
+     *
+     * @param transpose 1 if the grid was transposed, 0 otherwise.
+     * @param order The index of the column order.
+     */
+    private void addTie(int transpose, int order) {
+        if (tieCount == ties.size()) {
+            ties.add(new int[2 + 2 * size + 1]);
+        }
+        int[] tie = ties.get(tieCount++);
+        tie[0] = transpose;
+        tie[1] = order;
+        System.arraycopy(candidateRows, 0, tie, 2, size);
+        System.arraycopy(label, 0, tie, 2 + size, size + 1);
+    }
+
+    /**
+     * Copies a board into the flat buffer of the search, transposed if asked.
+     *
+     * @param board The board.
+     * @param transpose true to transpose the board.
+     */
+    private void orient(int[][] board, boolean transpose) {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                oriented[row * size + col] = transpose ? board[col][row] : board[row][col];
+            }
+        }
+    }
+
+    /**
+     * Adds every column order with the given stack order, permuting the columns inside each stack
+     * from the given one on.
+     *
+     * @param stacks The order of the stacks.
+     * @param stack The position of the first stack whose columns are not placed yet.
+     * @param columns The column order being built.
+     * @param blockCols The number of columns of a stack.
+     * @param next The index of the next column order to add.
+     * @return The index after the last column order added.
+     */
+    private int addColumnOrders(int[] stacks, int stack, int[] columns, int blockCols, int next) {
+        if (stack == stacks.length) {
+            columnOrders[next] = columns.clone();
+            return next + 1;
+        }
+        int[] inner = identity(blockCols);
+        do {
+            for (int i = 0; i < blockCols; i++) {
+                columns[stack * blockCols + i] = stacks[stack] * blockCols + inner[i];
+            }
+            next = addColumnOrders(stacks, stack + 1, columns, blockCols, next);
+        } while (nextPermutation(inner));
+        return next;
+    }
+
+    /**
+     * Turns a flat board into a matrix.
+     *
+     * @param cells The board, row by row.
+     * @return A new matrix.
+     */
+    private int[][] toMatrix(int[] cells) {
+        int[][] matrix = new int[size][size];
+        for (int row = 0; row < size; row++) {
+            System.arraycopy(cells, row * size, matrix[row], 0, size);
+        }
+        return matrix;
+    }
+
+    /**
+     * Hashes a flat board, mixing each cell with the finalizer of SplitMix64.
+     *
+     * @param cells The board, row by row.
+     * @return The 64-bit hash.
+     */
+    private static long hash(int[] cells) {
+        long hash = cells.length;
+        for (int value : cells) {
+            hash = (hash + value) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 31;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31);
+    }
+
+    /**
+     * Returns the identity permutation.
+     *
+     * @param length The number of elements.
+     * @return The array {@code 0, 1, ..., length - 1}.
+     */
+    private static int[] identity(int length) {
+        int[] permutation = new int[length];
+        for (int i = 0; i < length; i++) {
+            permutation[i] = i;
+        }
+        return permutation;
+    }
+
+    /**
+     * Advances a permutation to the next one in lexicographic order.
+     *
+     * @param permutation The permutation, changed in place.
+     * @return false if it was the last permutation, in which case it is left unchanged.
+     */
+    private static boolean nextPermutation(int[] permutation) {
+        int i = permutation.length - 2;
+        while (i >= 0 && permutation[i] >= permutation[i + 1]) {
+            i--;
+        }
+        if (i < 0) {
+            return false;
+        }
+        int j = permutation.length - 1;
+        while (permutation[j] <= permutation[i]) {
+            j--;
+        }
+        int swap = permutation[i];
+        permutation[i] = permutation[j];
+        permutation[j] = swap;
+        for (int a = i + 1, b = permutation.length - 1; a < b; a++, b--) {
+            swap = permutation[a];
+            permutation[a] = permutation[b];
+            permutation[b] = swap;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of column orders that keep a board valid: the orders of the stacks times
+     * the orders of the columns inside each stack.
+     *
+     * @param geometry The shape of the boards.
+     * @return The number of column orders.
+     */
+    private static long columnOrderCount(BoardGeometry geometry) {
+        long orders = factorial(geometry.getBlockRows());
+        for (int stack = 0; stack < geometry.getBlockRows(); stack++) {
+            orders *= factorial(geometry.getBlockCols());
+            if (orders > MAX_CANDIDATES) {
+                return orders;
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Returns the factorial of a small number.
+     *
+     * @param n The number.
+     * @return {@code n!}.
+     */
+    private static long factorial(int n) {
+        long result = 1;
+        for (int i = 2; i <= n; i++) {
+            result *= i;
+        }
+        return result;
+    }
+}
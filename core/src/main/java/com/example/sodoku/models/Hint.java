@@ -0,0 +1,64 @@
+package com.example.sodoku.models;
+
+/**
+ * A help number chosen by the game: the value that belongs in one empty cell and the technique
+ * that deduces it. The game only picks the hint; showing and placing it is left to the user interface.
+ */
+public final class Hint {
+
+    private final int row;
+    private final int col;
+    private final int value;
+    private final Technique technique;
+
+    /**
+     * Creates a hint.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @param value The value that belongs in the cell.
+     * @param technique The hardest technique needed to deduce the value.
+     */
+    public Hint(int row, int col, int value, Technique technique) {
+        this.row = row;
+        this.col = col;
+        this.value = value;
+        this.technique = technique;
+    }
+
+    /**
+     * Returns the row of the hinted cell.
+     *
+     * @return The row index (0-based).
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Returns the column of the hinted cell.
+     *
+     * @return The column index (0-based).
+     */
+    public int getCol() {
+        return col;
+    }
+
+    /**
+     * Returns the value that belongs in the hinted cell.
+     *
+     * @return The hinted value.
+     */
+    public int getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the hardest technique needed to deduce the value.
+     *
+     * @return The technique of the hint.
+     */
+    public Technique getTechnique() {
+        return technique;
+    }
+}
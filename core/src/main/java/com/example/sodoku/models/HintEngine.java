@@ -0,0 +1,474 @@
+package com.example.sodoku.models;
+
+/**
+ * Finds the next logical move on a partially filled board, the way a person would: first naked and
+ * hidden singles, then candidate eliminations (pointing pairs, box-line reductions and naked pairs)
+ * that uncover new singles. Each hint carries the hardest {@link Technique} needed to reach it.
+ * <p>
+ * The engine keeps one candidate bitmask per cell (bit {@code num - 1} set when {@code num} still fits)
+ * and the placed digits of every row, column and block. Placing a digit updates only the cell's
+ * peers, and eliminations stay in the candidate masks, so a sequence of hints, as when grading a
+ * puzzle, never recomputes the candidates from scratch.
+ * <p>
+ * Every candidate removed by a placement or an elimination is pushed on a trail, and each placement
+ * remembers the trail position it started at and the unit masks it set. {@link #undoPlace()} pops
+ * the latest placement together with the eliminations found after it, restoring the candidates it
+ * had before, so moves taken back in order never force a reload.
+ */
+public class HintEngine {
+
+    /**
+     * Returned by the single searches when a cell or a unit has no candidate left.
+     */
+    private static final int CONTRADICTION = -2;
+
+    /**
+     * Flag of a placement made while the board was already contradictory; the lower three bits flag
+     * the units, in {@code cellUnits} order, where the placement was the first of its digit.
+     */
+    private static final int WAS_CONTRADICTION = 1 << 3;
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int cellCount;
+    private final int fullMask;
+    private final int[][] units;
+    private final int[][] cellUnits;
+    private final int[] candidates;
+    private final int[] values;
+    private final int[] unitPlaced;
+    private final int[] trailCell;
+    private final int[] trailMask;
+    private final int[] placedCells;
+    private final int[] placedTrail;
+    private final int[] placedFlags;
+    private int trailSize;
+    private int placedCount;
+    private int emptyCount;
+    private boolean contradiction;
+
+    /**
+     * Creates a hint engine for boards of the given geometry.
+     *
+     * @param geometry The shape of the boards to analyse.
+     */
+    public HintEngine(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.fullMask = (1 << size) - 1;
+        this.units = new int[3 * size][size];
+        this.cellUnits = new int[cellCount][3];
+        this.candidates = new int[cellCount];
+        this.values = new int[cellCount];
+        this.unitPlaced = new int[3 * size];
+        this.trailCell = new int[cellCount * (size + 1)];
+        this.trailMask = new int[cellCount * (size + 1)];
+        this.placedCells = new int[cellCount];
+        this.placedTrail = new int[cellCount];
+        this.placedFlags = new int[cellCount];
+
+        int[] filled = new int[3 * size];
+        for (int cell = 0; cell < cellCount; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            int[] own = {row, size + col, 2 * size + geometry.blockIndex(row, col)};
+            for (int k = 0; k < 3; k++) {
+                units[own[k]][filled[own[k]]++] = cell;
+            }
+            cellUnits[cell] = own;
+        }
+    }
+
+    /**
+     * Loads a board, computing the candidates of every empty cell from its row, column and block.
+     *
+     * @param matrix The board, with 0 in the empty cells.
+     */
+    public void load(int[][] matrix) {
+        for (int unit = 0; unit < unitPlaced.length; unit++) {
+            unitPlaced[unit] = 0;
+        }
+        emptyCount = 0;
+        trailSize = 0;
+        placedCount = 0;
+        contradiction = false;
+        for (int cell = 0; cell < cellCount; cell++) {
+            int value = matrix[cell / size][cell % size];
+            values[cell] = value;
+            if (value == 0) {
+                emptyCount++;
+            } else {
+                int bit = 1 << (value - 1);
+                for (int unit : cellUnits[cell]) {
+                    if ((unitPlaced[unit] & bit) != 0) {
+                        contradiction = true;
+                    }
+                    unitPlaced[unit] |= bit;
+                }
+            }
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] == 0) {
+                int[] own = cellUnits[cell];
+                candidates[cell] = fullMask & ~(unitPlaced[own[0]] | unitPlaced[own[1]] | unitPlaced[own[2]]);
+            } else {
+                candidates[cell] = 0;
+            }
+        }
+    }
+
+    /**
+     * Places a digit, removing it from the candidates of the cell's row, column and block.
+     * A digit already placed in one of those units flags a contradiction, as in {@link #load(int[][])}.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @param value The digit to place (between 1 and the board size).
+     */
+    public void place(int row, int col, int value) {
+        int cell = row * size + col;
+        int bit = 1 << (value - 1);
+        int[] own = cellUnits[cell];
+        int flags = contradiction ? WAS_CONTRADICTION : 0;
+        for (int i = 0; i < own.length; i++) {
+            if ((unitPlaced[own[i]] & bit) == 0) {
+                flags |= 1 << i;
+            } else {
+                contradiction = true;
+            }
+        }
+        placedCells[placedCount] = cell;
+        placedTrail[placedCount] = trailSize;
+        placedFlags[placedCount++] = flags;
+        values[cell] = value;
+        eliminate(cell, candidates[cell]);
+        emptyCount--;
+        for (int unit : own) {
+            unitPlaced[unit] |= bit;
+            for (int peer : units[unit]) {
+                eliminate(peer, bit);
+            }
+        }
+    }
+
+    /**
+     * Takes back the latest placement still on the board, together with every elimination found
+     * after it, so the candidates are exactly those before the placement.
+     *
+     * @return true if a placement was taken back; false if none was made since the last load.
+     */
+    public boolean undoPlace() {
+        if (placedCount == 0) {
+            return false;
+        }
+        int cell = placedCells[--placedCount];
+        int bit = 1 << (values[cell] - 1);
+        int flags = placedFlags[placedCount];
+        int[] own = cellUnits[cell];
+        for (int i = 0; i < own.length; i++) {
+            if ((flags & (1 << i)) != 0) {
+                unitPlaced[own[i]] &= ~bit;
+            }
+        }
+        values[cell] = 0;
+        emptyCount++;
+        int mark = placedTrail[placedCount];
+        while (trailSize > mark) {
+            trailSize--;
+            candidates[trailCell[trailSize]] |= trailMask[trailSize];
+        }
+        contradiction = (flags & WAS_CONTRADICTION) != 0;
+        return true;
+    }
+
+    /**
+     * Returns the cell of the latest placement that {@link #undoPlace()} would take back.
+     *
+     * @return The cell index ({@code row * size + col}), or -1 if no placement was made since the last load.
+     */
+    public int getLastPlacedCell() {
+        return placedCount == 0 ? -1 : placedCells[placedCount - 1];
+    }
+
+    /**
+     * Returns the number of cells still empty.
+     *
+     * @return The number of empty cells.
+     */
+    public int getEmptyCount() {
+        return emptyCount;
+    }
+
+    /**
+     * Returns the value of a cell.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @return The value of the cell, or 0 if it is empty.
+     */
+    public int getValue(int row, int col) {
+        return values[row * size + col];
+    }
+
+    /**
+     * Finds the cheapest next placement. Singles are looked for first; when there are none,
+     * elimination techniques are applied one at a time, from the cheapest, until a single appears.
+     * Eliminations are kept for the following calls. The board itself is not changed.
+     *
+     * @return The next placement with the hardest technique it needed, or null if the board is
+     *         complete, contradictory, or beyond the techniques of the engine.
+     */
+    public Hint next() {
+        if (contradiction) {
+            return null;
+        }
+        Technique level = Technique.NAKED_SINGLE;
+        while (emptyCount > 0) {
+            int cell = findNakedSingle();
+            if (cell == CONTRADICTION) {
+                return null;
+            }
+            if (cell >= 0) {
+                return hint(cell, candidates[cell], level, Technique.NAKED_SINGLE);
+            }
+            Hint hidden = findHiddenSingle(level);
+            if (hidden != null) {
+                return hidden;
+            }
+            if (contradiction) {
+                return null;
+            }
+            if (eliminatePointing()) {
+                level = max(level, Technique.POINTING_PAIR);
+            } else if (eliminateBoxLine()) {
+                level = max(level, Technique.BOX_LINE_REDUCTION);
+            } else if (eliminateNakedPairs()) {
+                level = max(level, Technique.NAKED_PAIR);
+            } else {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks for an empty cell with a single candidate.
+     *
+     * @return The cell index, -1 if there is none, or {@link #CONTRADICTION} if a cell has no candidate.
+     */
+    private int findNakedSingle() {
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] == 0) {
+                int mask = candidates[cell];
+                if (mask == 0) {
+                    return CONTRADICTION;
+                }
+                if ((mask & (mask - 1)) == 0) {
+                    return cell;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Looks for a digit that fits a single cell of a unit. Flags a contradiction when a missing
+     * digit fits no cell of its unit.
+     *
+     * @param level The hardest technique used so far to reach this point.
+     * @return The hint, or null if there is none.
+     */
+    private Hint findHiddenSingle(Technique level) {
+        for (int unit = 0; unit < units.length; unit++) {
+            int once = 0;
+            int twice = 0;
+            for (int cell : units[unit]) {
+                int mask = candidates[cell];
+                twice |= once & mask;
+                once |= mask;
+            }
+            if ((once | unitPlaced[unit]) != fullMask) {
+                contradiction = true;
+                return null;
+            }
+            int exactlyOnce = once & ~twice;
+            if (exactlyOnce != 0) {
+                int bit = exactlyOnce & -exactlyOnce;
+                for (int cell : units[unit]) {
+                    if ((candidates[cell] & bit) != 0) {
+                        return hint(cell, bit, level, Technique.HIDDEN_SINGLE);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Removes a digit from the rest of a row or column when, inside a block, it can only go on that line.
+     *
+     * @return true if any candidate was removed.
+     */
+    private boolean eliminatePointing() {
+        boolean changed = false;
+        for (int block = 0; block < size; block++) {
+            int[] blockCells = units[2 * size + block];
+            changed |= pointAlong(blockCells, true, block);
+            changed |= pointAlong(blockCells, false, block);
+        }
+        return changed;
+    }
+
+    /**
+     * Applies the pointing rule to the rows or the columns crossing one block.
+     *
+     * @param blockCells The cells of the block.
+     * @param byRow true to check the rows of the block, false to check its columns.
+     * @param block The index of the block.
+     * @return true if any candidate was removed.
+     */
+    private boolean pointAlong(int[] blockCells, boolean byRow, int block) {
+        int lines = byRow ? geometry.getBlockRows() : geometry.getBlockCols();
+        int firstLine = byRow ? geometry.blockStartRow(block) : geometry.blockStartCol(block);
+        boolean changed = false;
+        for (int line = 0; line < lines; line++) {
+            int inLine = 0;
+            int elsewhere = 0;
+            for (int cell : blockCells) {
+                int cellLine = byRow ? cell / size : cell % size;
+                if (cellLine == firstLine + line) {
+                    inLine |= candidates[cell];
+                } else {
+                    elsewhere |= candidates[cell];
+                }
+            }
+            int pointing = inLine & ~elsewhere;
+            if (pointing != 0) {
+                int unit = byRow ? firstLine + line : size + firstLine + line;
+                changed |= removeOutside(units[unit], 2 * size + block, pointing);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes a digit from the rest of a block when, inside a row or column, it can only go in that block.
+     *
+     * @return true if any candidate was removed.
+     */
+    private boolean eliminateBoxLine() {
+        boolean changed = false;
+        for (int unit = 0; unit < 2 * size; unit++) {
+            int[] lineCells = units[unit];
+            for (int i = 0; i < size; i++) {
+                int block = cellUnits[lineCells[i]][2];
+                if (i > 0 && cellUnits[lineCells[i - 1]][2] == block) {
+                    continue;
+                }
+                int inBlock = 0;
+                int elsewhere = 0;
+                for (int cell : lineCells) {
+                    if (cellUnits[cell][2] == block) {
+                        inBlock |= candidates[cell];
+                    } else {
+                        elsewhere |= candidates[cell];
+                    }
+                }
+                int confined = inBlock & ~elsewhere;
+                if (confined != 0) {
+                    changed |= removeOutside(units[block], unit, confined);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes the two digits of a naked pair from the other cells of its unit.
+     *
+     * @return true if any candidate was removed.
+     */
+    private boolean eliminateNakedPairs() {
+        boolean changed = false;
+        for (int[] unitCells : units) {
+            for (int i = 0; i < size; i++) {
+                int mask = candidates[unitCells[i]];
+                if (Integer.bitCount(mask) != 2) {
+                    continue;
+                }
+                for (int j = i + 1; j < size; j++) {
+                    if (candidates[unitCells[j]] == mask) {
+                        for (int cell : unitCells) {
+                            if (cell != unitCells[i] && cell != unitCells[j]) {
+                                changed |= eliminate(cell, mask);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes digits from the cells of a unit that do not belong to another unit.
+     *
+     * @param unitCells The cells to clear.
+     * @param keptUnit The unit whose cells keep their candidates.
+     * @param mask The digits to remove.
+     * @return true if any candidate was removed.
+     */
+    private boolean removeOutside(int[] unitCells, int keptUnit, int mask) {
+        boolean changed = false;
+        for (int cell : unitCells) {
+            int[] own = cellUnits[cell];
+            if (own[0] != keptUnit && own[1] != keptUnit && own[2] != keptUnit) {
+                changed |= eliminate(cell, mask);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Removes digits from the candidates of a cell, recording the ones actually removed on the trail.
+     *
+     * @param cell The index of the cell.
+     * @param mask The digits to remove.
+     * @return true if any candidate was removed.
+     */
+    private boolean eliminate(int cell, int mask) {
+        int removed = candidates[cell] & mask;
+        if (removed == 0) {
+            return false;
+        }
+        candidates[cell] &= ~removed;
+        trailCell[trailSize] = cell;
+        trailMask[trailSize++] = removed;
+        return true;
+    }
+
+    /**
+     * Builds a hint for a cell.
+     *
+     * @param cell The index of the cell.
+     * @param bit The bit of the digit to place.
+     * @param level The hardest elimination technique used to reach the placement.
+     * @param placement The technique that finds the placement itself.
+     * @return The hint.
+     */
+    private Hint hint(int cell, int bit, Technique level, Technique placement) {
+        return new Hint(cell / size, cell % size, Integer.numberOfTrailingZeros(bit) + 1, max(level, placement));
+    }
+
+    /**
+     * Returns the harder of two techniques.
+     *
+     * @param a A technique.
+     * @param b Another technique.
+     * @return The technique that comes later in {@link Technique}.
+     */
+    private static Technique max(Technique a, Technique b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.sodoku.models;
+
+/**
+ * Undo and redo history of a game, kept as a ring of packed {@code int} moves. Each move holds the
+ * cell index in bits 10-19, the digit the cell held before in bits 5-9 and the digit it holds after in
+ * bits 0-4 (0 for an empty cell); bit 21 is set if the digit before came from a hint and bit 20 if the
+ * digit after does. The ring has a fixed capacity, so memory stays flat over long
+ * sessions: once it is full, recording a move forgets the oldest one.
+ * <p>
+ * Positions are counted from the start of the game and never reused, so a snapshot is just the
+ * current position and costs nothing to take. Recording a move after undoing starts a new branch and
+ * discards the moves that could have been redone; snapshots taken on the discarded branch become
+ * invalid, which {@link #isValid(long)} detects from the branch points of the last
+ * {@value #TRACKED_BRANCHES} branches.
+ */
+public final class MoveJournal {
+
+    /**
+     * Returned by {@link #undo()} and {@link #redo()} when there is no move to take back or replay.
+     */
+    public static final int NONE = -1;
+
+    /**
+     * The number of moves kept by default.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 12;
+
+    private static final int NEW_HINTED = 1 << 20;
+    private static final int OLD_HINTED = 1 << 21;
+    private static final int TRACKED_BRANCHES = 64;
+    private static final int POSITION_BITS = 40;
+    private static final long POSITION_MASK = (1L << POSITION_BITS) - 1;
+
+    private final int[] moves;
+    private final int mask;
+    private final long[] branchPoints = new long[TRACKED_BRANCHES];
+    private long oldest;
+    private long position;
+    private long end;
+    private long branch;
+
+    /**
+     * Creates a journal that keeps the default number of moves.
+     */
+    public MoveJournal() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a journal that keeps at least the given number of moves.
+     *
+     * @param capacity The minimum number of moves kept; rounded up to a power of two.
+     */
+    public MoveJournal(int capacity) {
+        int rounded = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        this.moves = new int[rounded];
+        this.mask = rounded - 1;
+    }
+
+    /**
+     * Packs a move into the format stored by the journal.
+     *
+     * @param cell The cell index ({@code row * size + col}).
+     * @param oldValue The digit the cell held before the move, or 0.
+     * @param newValue The digit the cell holds after the move, or 0.
+     * @return The packed move.
+     */
+    public static int pack(int cell, int oldValue, int newValue) {
+        return cell << 10 | oldValue << 5 | newValue;
+    }
+
+    /**
+     * Packs a move into the format stored by the journal, flagging the digits that came from hints.
+     *
+     * @param cell The cell index ({@code row * size + col}).
+     * @param oldValue The digit the cell held before the move, or 0.
+     * @param newValue The digit the cell holds after the move, or 0.
+     * @param oldHinted true if the digit before the move was placed by a hint.
+     * @param newHinted true if the digit after the move is placed by a hint.
+     * @return The packed move.
+     */
+    public static int pack(int cell, int oldValue, int newValue, boolean oldHinted, boolean newHinted) {
+        return pack(cell, oldValue, newValue) | (oldHinted ? OLD_HINTED : 0) | (newHinted ? NEW_HINTED : 0);
+    }
+
+    /**
+     * Returns the cell of a packed move.
+     *
+     * @param move The packed move.
+     * @return The cell index.
+     */
+    public static int cell(int move) {
+        return move >>> 10 & 0x3FF;
+    }
+
+    /**
+     * Returns the digit a cell held before a packed move.
+     *
+     * @param move The packed move.
+     * @return The old digit, or 0 if the cell was empty.
+     */
+    public static int oldValue(int move) {
+        return move >>> 5 & 0x1F;
+    }
+
+    /**
+     * Returns the digit a cell holds after a packed move.
+     *
+     * @param move The packed move.
+     * @return The new digit, or 0 if the cell was emptied.
+     */
+    public static int newValue(int move) {
+        return move & 0x1F;
+    }
+
+    /**
+     * Checks if the digit a cell held before a packed move was placed by a hint.
+     *
+     * @param move The packed move.
+     * @return true if the old digit came from a hint.
+     */
+    public static boolean wasHinted(int move) {
+        return (move & OLD_HINTED) != 0;
+    }
+
+    /**
+     * Checks if the digit a cell holds after a packed move was placed by a hint.
+     *
+     * @param move The packed move.
+     * @return true if the new digit came from a hint.
+     */
+    public static boolean isHinted(int move) {
+        return (move & NEW_HINTED) != 0;
+    }
+
+    /**
+     * Records a move, discarding the moves that could have been redone.
+     *
+     * @param cell The cell index ({@code row * size + col}).
+     * @param oldValue The digit the cell held before the move, or 0.
+     * @param newValue The digit the cell holds after the move, or 0.
+     */
+    public void record(int cell, int oldValue, int newValue) {
+        record(pack(cell, oldValue, newValue));
+    }
+
+    /**
+     * Records a packed move, discarding the moves that could have been redone.
+     *
+     * @param move The move, packed by {@link #pack(int, int, int, boolean, boolean)}.
+     */
+    public void record(int move) {
+        if (position < end) {
+            branch++;
+            branchPoints[(int) (branch % TRACKED_BRANCHES)] = position;
+        }
+        moves[(int) (position & mask)] = move;
+        position++;
+        end = position;
+        if (end - oldest > moves.length) {
+            oldest++;
+        }
+    }
+
+    /**
+     * Checks if a move can be taken back.
+     *
+     * @return true if {@link #undo()} would return a move.
+     */
+    public boolean canUndo() {
+        return position > oldest;
+    }
+
+    /**
+     * Checks if an undone move can be replayed.
+     *
+     * @return true if {@link #redo()} would return a move.
+     */
+    public boolean canRedo() {
+        return position < end;
+    }
+
+    /**
+     * Steps back over the latest move. The caller restores its old digit.
+     *
+     * @return The packed move taken back, or {@link #NONE}.
+     */
+    public int undo() {
+        if (!canUndo()) {
+            return NONE;
+        }
+        position--;
+        return moves[(int) (position & mask)];
+    }
+
+    /**
+     * Steps forward over the next undone move. The caller restores its new digit.
+     *
+     * @return The packed move replayed, or {@link #NONE}.
+     */
+    public int redo() {
+        if (!canRedo()) {
+            return NONE;
+        }
+        return moves[(int) (position++ & mask)];
+    }
+
+    /**
+     * Returns a token for the current point of the history, to return to with undo and redo.
+     *
+     * @return The snapshot token.
+     */
+    public long snapshot() {
+        return branch << POSITION_BITS | position;
+    }
+
+    /**
+     * Returns the number of moves between the current point and a snapshot.
+     *
+     * @param snapshot A token returned by {@link #snapshot()}.
+     * @return The number of moves to redo (positive) or undo (negative) to reach the snapshot.
+     */
+    public long distanceTo(long snapshot) {
+        return (snapshot & POSITION_MASK) - position;
+    }
+
+    /**
+     * Checks if a snapshot can still be reached: its moves are still kept and it does not lie on a
+     * branch that was discarded.
+     *
+     * @param snapshot A token returned by {@link #snapshot()}.
+     * @return true if the snapshot can be restored.
+     */
+    public boolean isValid(long snapshot) {
+        long snapshotBranch = snapshot >>> POSITION_BITS;
+        long snapshotPosition = snapshot & POSITION_MASK;
+        if (snapshotBranch > branch || branch - snapshotBranch >= TRACKED_BRANCHES
+                || snapshotPosition < oldest || snapshotPosition > end) {
+            return false;
+        }
+        for (long later = snapshotBranch + 1; later <= branch; later++) {
+            if (snapshotPosition > branchPoints[(int) (later % TRACKED_BRANCHES)]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Forgets every move, as when a new game starts. Snapshots taken before are no longer valid.
+     */
+    public void clear() {
+        oldest = 0;
+        position = 0;
+        end = 0;
+        branch++;
+        branchPoints[(int) (branch % TRACKED_BRANCHES)] = 0;
+    }
+}
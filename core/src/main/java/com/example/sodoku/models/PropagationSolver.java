@@ -0,0 +1,416 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.ISolver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Solver that deduces as much as possible with naked-single and hidden-single propagation and only
+ * branches when propagation stalls, always on the empty cell with the fewest candidates (MRV).
+ * Every placement is pushed on a trail so a failed branch is undone by popping back to the trail
+ * position of its decision. The statistics of the last solve are available through {@link #getLastStats()}.
+ */
+public class PropagationSolver implements ISolver {
+
+    private final int size;
+    private final int cellCount;
+    private final BitBoard bitBoard;
+    private final RandomGenerator random;
+    private final SolverStats stats = new SolverStats();
+    private final int[] values;
+    private final int[][] units;
+    private final int[] trail;
+    private final int[] stackCell;
+    private final int[] stackTrail;
+    private final int[] stackRemaining;
+    private long nodeLimit = Long.MAX_VALUE;
+    private int bannedCell = -1;
+    private int bannedBit;
+    private int trailSize;
+    private int emptyCount;
+    private long nodes;
+    private long backtracks;
+    private int maxDepth;
+
+    /**
+     * Creates a solver for boards of the given geometry.
+     *
+     * @param geometry The shape of the boards to solve.
+     * @param random The generator used to pick the order in which branch digits are tried.
+     */
+    public PropagationSolver(BoardGeometry geometry, RandomGenerator random) {
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.bitBoard = new BitBoard(geometry);
+        this.random = random;
+        this.values = new int[cellCount];
+        this.trail = new int[cellCount];
+        this.stackCell = new int[cellCount];
+        this.stackTrail = new int[cellCount];
+        this.stackRemaining = new int[cellCount];
+        this.units = new int[3 * size][size];
+        for (int i = 0; i < size; i++) {
+            int startRow = geometry.blockStartRow(i);
+            int startCol = geometry.blockStartCol(i);
+            for (int j = 0; j < size; j++) {
+                units[i][j] = i * size + j;
+                units[size + i][j] = j * size + i;
+                units[2 * size + i][j] = (startRow + j / geometry.getBlockCols()) * size
+                        + startCol + j % geometry.getBlockCols();
+            }
+        }
+    }
+
+    /**
+     * Solves the given Sudoku matrix in place.
+     *
+     * @param sudoku The Sudoku matrix to solve.
+     * @return true if the Sudoku was solved successfully; false if no solution exists.
+     */
+    public boolean solve(int[][] sudoku) {
+        int givens = load(sudoku);
+        if (givens < 0) {
+            return false;
+        }
+        int depth = search(true);
+        flushStats();
+        if (depth < 0) {
+            return false;
+        }
+        stats.recordSolution(givens, cellCount - givens - depth, depth);
+        for (int cell = 0; cell < cellCount; cell++) {
+            sudoku[cell / size][cell % size] = values[cell];
+        }
+        return true;
+    }
+
+    /**
+     * Checks if the given Sudoku matrix has a solution in which an empty cell holds a digit other
+     * than the given one. The matrix is left unchanged.
+     *
+     * @param sudoku The Sudoku matrix to examine.
+     * @param row The row index of the empty cell.
+     * @param col The column index of the empty cell.
+     * @param num The digit the cell must not hold.
+     * @return true if such a solution exists; false if there is none or the node limit was reached.
+     */
+    public boolean hasSolutionExcluding(int[][] sudoku, int row, int col, int num) {
+        bannedCell = row * size + col;
+        bannedBit = 1 << (num - 1);
+        try {
+            if (load(sudoku) < 0) {
+                return false;
+            }
+            boolean found = search(true) >= 0;
+            flushStats();
+            return found;
+        } finally {
+            bannedCell = -1;
+        }
+    }
+
+    /**
+     * Counts the solutions of the given Sudoku matrix, stopping as soon as the limit is reached.
+     * The matrix is left unchanged.
+     *
+     * @param sudoku The Sudoku matrix to examine.
+     * @param limit The number of solutions after which counting stops.
+     * @return The number of solutions found, never more than {@code limit}.
+     */
+    public int countSolutions(int[][] sudoku, int limit) {
+        if (load(sudoku) < 0) {
+            return 0;
+        }
+        int solutions = 0;
+        int depth = search(false);
+        while (depth >= 0) {
+            if (++solutions >= limit) {
+                break;
+            }
+            depth = resume(depth - 1, false);
+        }
+        flushStats();
+        return solutions;
+    }
+
+    /**
+     * Returns the statistics of the last call to {@link #solve(int[][])} or {@link #countSolutions(int[][], int)}.
+     *
+     * @return The statistics of the last solve.
+     */
+    public SolverStats getLastStats() {
+        return stats;
+    }
+
+    /**
+     * Sets the number of search decisions after which a solve gives up. An aborted solve returns
+     * false and is reported by {@link SolverStats#isAborted()}.
+     *
+     * @param nodeLimit The maximum number of decisions per solve.
+     */
+    public void setNodeLimit(long nodeLimit) {
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Copies the matrix into the solver state and checks that the clues do not conflict.
+     *
+     * @param sudoku The Sudoku matrix to load.
+     * @return The number of clues, or -1 if two clues conflict.
+     */
+    private int load(int[][] sudoku) {
+        stats.reset();
+        nodes = 0;
+        backtracks = 0;
+        maxDepth = 0;
+        bitBoard.clear();
+        trailSize = 0;
+        emptyCount = cellCount;
+        int givens = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            values[cell] = 0;
+        }
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int num = sudoku[row][col];
+                if (num != 0) {
+                    if (!bitBoard.canPlace(row, col, num)) {
+                        return -1;
+                    }
+                    values[row * size + col] = num;
+                    bitBoard.place(row, col, num);
+                    emptyCount--;
+                    givens++;
+                }
+            }
+        }
+        return givens;
+    }
+
+    /**
+     * Adds the search counters, kept in fields while the search runs, to the statistics of the solve.
+     */
+    private void flushStats() {
+        stats.addSearch(nodes, backtracks, maxDepth);
+    }
+
+    /**
+     * Propagates the clues and searches for the first solution.
+     *
+     * @param randomize Whether branch digits are tried in random order.
+     * @return The number of decisions on the stack when a solution is found, or -1 if there is none.
+     */
+    private int search(boolean randomize) {
+        if (!propagate()) {
+            return -1;
+        }
+        return descend(0, randomize);
+    }
+
+    /**
+     * Continues the search after a solution, trying the next alternative of the decision at the given depth.
+     *
+     * @param depth The depth of the last decision on the stack.
+     * @param randomize Whether branch digits are tried in random order.
+     * @return The number of decisions on the stack when the next solution is found, or -1 if there is none.
+     */
+    private int resume(int depth, boolean randomize) {
+        if (depth < 0) {
+            return -1;
+        }
+        undoTo(stackTrail[depth]);
+        int next = branch(depth, randomize);
+        if (next < 0) {
+            return -1;
+        }
+        return descend(next, randomize);
+    }
+
+    /**
+     * Opens new decisions, starting at the given depth, until the board is full or the search fails.
+     *
+     * @param depth The depth of the next decision.
+     * @param randomize Whether branch digits are tried in random order.
+     * @return The number of decisions on the stack when a solution is found, or -1 if there is none.
+     */
+    private int descend(int depth, boolean randomize) {
+        while (emptyCount > 0) {
+            int cell = selectCell();
+            stackCell[depth] = cell;
+            stackTrail[depth] = trailSize;
+            stackRemaining[depth] = candidates(cell);
+            depth = branch(depth, randomize);
+            if (depth < 0) {
+                return -1;
+            }
+        }
+        return depth;
+    }
+
+    /**
+     * Tries the remaining digits of the decision at the given depth, backtracking to shallower
+     * decisions when they are exhausted.
+     *
+     * @param depth The depth of the decision to advance.
+     * @param randomize Whether branch digits are tried in random order.
+     * @return The depth of the next decision to open, or -1 if the search space is exhausted.
+     */
+    private int branch(int depth, boolean randomize) {
+        while (depth >= 0) {
+            int remaining = stackRemaining[depth];
+            if (remaining == 0) {
+                if (--depth >= 0) {
+                    undoTo(stackTrail[depth]);
+                }
+                continue;
+            }
+            if (nodes >= nodeLimit) {
+                stats.markAborted();
+                return -1;
+            }
+            int bit = randomize ? randomBit(remaining) : remaining & -remaining;
+            stackRemaining[depth] = remaining & ~bit;
+            nodes++;
+            place(stackCell[depth], Integer.numberOfTrailingZeros(bit) + 1);
+            if (propagate()) {
+                if (depth + 1 > maxDepth) {
+                    maxDepth = depth + 1;
+                }
+                return depth + 1;
+            }
+            backtracks++;
+            undoTo(stackTrail[depth]);
+        }
+        return -1;
+    }
+
+    /**
+     * Applies naked singles and hidden singles until nothing changes.
+     *
+     * @return false if a contradiction was found; true otherwise.
+     */
+    private boolean propagate() {
+        boolean changed = true;
+        while (changed && emptyCount > 0) {
+            changed = false;
+            for (int cell = 0; cell < cellCount; cell++) {
+                if (values[cell] == 0) {
+                    int candidates = candidates(cell);
+                    if (candidates == 0) {
+                        return false;
+                    }
+                    if ((candidates & (candidates - 1)) == 0) {
+                        place(cell, Integer.numberOfTrailingZeros(candidates) + 1);
+                        changed = true;
+                    }
+                }
+            }
+            int full = (1 << size) - 1;
+            for (int[] unit : units) {
+                int once = 0;
+                int twice = 0;
+                int used = 0;
+                for (int cell : unit) {
+                    if (values[cell] != 0) {
+                        used |= 1 << (values[cell] - 1);
+                    } else {
+                        int candidates = candidates(cell);
+                        twice |= once & candidates;
+                        once |= candidates;
+                    }
+                }
+                if ((once | used) != full) {
+                    return false;
+                }
+                int hidden = once & ~twice & ~used;
+                if (hidden != 0) {
+                    int bit = hidden & -hidden;
+                    for (int cell : unit) {
+                        if (values[cell] == 0 && (candidates(cell) & bit) != 0) {
+                            place(cell, Integer.numberOfTrailingZeros(bit) + 1);
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the empty cell with the fewest candidates. After propagation no empty cell has a single
+     * candidate, so the scan stops at the first cell with two.
+     *
+     * @return The index of the chosen cell.
+     */
+    private int selectCell() {
+        int best = -1;
+        int bestCount = Integer.MAX_VALUE;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (values[cell] == 0) {
+                int count = Integer.bitCount(candidates(cell));
+                if (count < bestCount) {
+                    best = cell;
+                    bestCount = count;
+                    if (count <= 2) {
+                        break;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the digits that can still be placed in an empty cell, leaving out the banned digit.
+     *
+     * @param cell The index of the cell.
+     * @return A mask with bit {@code num - 1} set for every candidate digit.
+     */
+    private int candidates(int cell) {
+        int candidates = bitBoard.candidates(cell / size, cell % size);
+        return cell == bannedCell ? candidates & ~bannedBit : candidates;
+    }
+
+    /**
+     * Picks one of the set bits of the mask uniformly at random.
+     *
+     * @param mask A non-zero mask.
+     * @return A mask with only the chosen bit set.
+     */
+    private int randomBit(int mask) {
+        int skip = random.nextInt(Integer.bitCount(mask));
+        for (int i = 0; i < skip; i++) {
+            mask &= mask - 1;
+        }
+        return mask & -mask;
+    }
+
+    /**
+     * Places a digit in an empty cell and records it on the trail.
+     *
+     * @param cell The index of the cell.
+     * @param num The digit to place.
+     */
+    private void place(int cell, int num) {
+        values[cell] = num;
+        bitBoard.place(cell / size, cell % size, num);
+        trail[trailSize++] = cell;
+        emptyCount--;
+    }
+
+    /**
+     * Empties the cells placed after the given trail position.
+     *
+     * @param position The trail size to return to.
+     */
+    private void undoTo(int position) {
+        while (trailSize > position) {
+            int cell = trail[--trailSize];
+            bitBoard.remove(cell / size, cell % size, values[cell]);
+            values[cell] = 0;
+            emptyCount++;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.sodoku.models;
+
+/**
+ * A generated puzzle: the clues the player starts with and the single solution they lead to.
+ * The matrices are owned by the puzzle and must not be modified; games copy the clues before playing.
+ */
+public final class Puzzle {
+
+    private final long id;
+    private final BoardGeometry geometry;
+    private final Difficulty difficulty;
+    private final int[][] clues;
+    private final int[][] solution;
+
+    /**
+     * Creates a puzzle from the given matrices, which are used as they are.
+     *
+     * @param geometry The shape of the board.
+     * @param difficulty The difficulty level the puzzle was generated with.
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @param solution The solved board.
+     */
+    public Puzzle(BoardGeometry geometry, Difficulty difficulty, int[][] clues, int[][] solution) {
+        this(PuzzleId.NONE, geometry, difficulty, clues, solution);
+    }
+
+    /**
+     * Creates a puzzle with a known ID from the given matrices, which are used as they are.
+     *
+     * @param id The ID the puzzle is regenerated from, or {@link PuzzleId#NONE}.
+     * @param geometry The shape of the board.
+     * @param difficulty The difficulty level the puzzle was generated with.
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @param solution The solved board.
+     */
+    public Puzzle(long id, BoardGeometry geometry, Difficulty difficulty, int[][] clues, int[][] solution) {
+        this.id = id;
+        this.geometry = geometry;
+        this.difficulty = difficulty;
+        this.clues = clues;
+        this.solution = solution;
+    }
+
+    /**
+     * Creates a puzzle from a copy of the current content of a board.
+     *
+     * @param board The board holding the puzzle and its solution.
+     * @param difficulty The difficulty level the board was generated with.
+     * @return A puzzle that no longer shares arrays with the board.
+     */
+    public static Puzzle copyOf(BoardModel board, Difficulty difficulty) {
+        return new Puzzle(board.getId(), board.getGeometry(), difficulty,
+                board.copySudoku(board.getSudoku()), board.copySudoku(board.getBoardFull()));
+    }
+
+    /**
+     * Returns the ID the puzzle can be regenerated from.
+     *
+     * @return The puzzle ID, or {@link PuzzleId#NONE} if the puzzle was not generated from an ID.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the shape of the board.
+     *
+     * @return The geometry of the puzzle.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the difficulty level the puzzle was generated with.
+     *
+     * @return The difficulty of the puzzle.
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the clues of the puzzle.
+     *
+     * @return The puzzle matrix, with 0 in the empty cells.
+     */
+    public int[][] getClues() {
+        return clues;
+    }
+
+    /**
+     * Returns the solution of the puzzle.
+     *
+     * @return The solved board.
+     */
+    public int[][] getSolution() {
+        return solution;
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.sodoku.models;
+
+/**
+ * Packs a puzzle and its solution into a fixed number of {@code long}s.
+ * <p>
+ * The solution is stored row by row. Up to 20x20 each row, being a permutation of the digits,
+ * is stored as its Lehmer rank in {@code ceil(log2(size!))} bits (10 bits for a 6x6 row, so a whole
+ * 6x6 solution fits in one {@code long}); larger boards store each cell in {@code ceil(log2(size))} bits.
+ * The clues follow as one bit per cell, set when the cell is given.
+ * A 6x6 puzzle with its solution therefore takes two {@code long}s.
+ * <p>
+ * The codec keeps no mutable state and can be shared between threads.
+ */
+public final class PuzzleCodec {
+
+    private static final int MAX_RANKED_SIZE = 20;
+
+    private final int size;
+    private final int cellCount;
+    private final boolean ranked;
+    private final int rowBits;
+    private final int digitBits;
+    private final int solutionLongs;
+    private final int recordLongs;
+    private final long[] factorials;
+
+    /**
+     * Creates the codec of the given geometry.
+     *
+     * @param geometry The shape of the boards to encode.
+     */
+    public PuzzleCodec(BoardGeometry geometry) {
+        this.size = geometry.getSize();
+        this.cellCount = geometry.getCellCount();
+        this.ranked = size <= MAX_RANKED_SIZE;
+        this.factorials = new long[size + 1];
+        factorials[0] = 1;
+        for (int i = 1; i <= size; i++) {
+            factorials[i] = ranked ? factorials[i - 1] * i : 0;
+        }
+        this.digitBits = 32 - Integer.numberOfLeadingZeros(size - 1);
+        this.rowBits = ranked ? 64 - Long.numberOfLeadingZeros(factorials[size] - 1) : digitBits * size;
+        this.solutionLongs = (rowBits * size + 63) / 64;
+        this.recordLongs = solutionLongs + (cellCount + 63) / 64;
+    }
+
+    /**
+     * Returns the number of {@code long}s used by one encoded puzzle.
+     *
+     * @return The record length.
+     */
+    public int getRecordLongs() {
+        return recordLongs;
+    }
+
+    /**
+     * Encodes a puzzle into a new record.
+     *
+     * @param puzzle The puzzle to encode.
+     * @return The packed record.
+     */
+    public long[] encode(Puzzle puzzle) {
+        long[] record = new long[recordLongs];
+        encode(puzzle.getClues(), puzzle.getSolution(), record, 0);
+        return record;
+    }
+
+    /**
+     * Encodes a puzzle into the given array.
+     *
+     * @param clues The puzzle, with 0 in the empty cells.
+     * @param solution The solved board.
+     * @param dst The destination array.
+     * @param offset The index of the first {@code long} of the record.
+     */
+    public void encode(int[][] clues, int[][] solution, long[] dst, int offset) {
+        for (int i = 0; i < recordLongs; i++) {
+            dst[offset + i] = 0;
+        }
+        int bit = 0;
+        for (int row = 0; row < size; row++) {
+            if (ranked) {
+                writeBits(dst, offset, bit, rankRow(solution[row]), rowBits);
+                bit += rowBits;
+            } else {
+                for (int col = 0; col < size; col++) {
+                    writeBits(dst, offset, bit, solution[row][col] - 1, digitBits);
+                    bit += digitBits;
+                }
+            }
+        }
+        int maskOffset = offset + solutionLongs;
+        for (int cell = 0; cell < cellCount; cell++) {
+            if (clues[cell / size][cell % size] != 0) {
+                dst[maskOffset + (cell >>> 6)] |= 1L << (cell & 63);
+            }
+        }
+    }
+
+    /**
+     * Decodes a record into a new puzzle.
+     *
+     * @param geometry The shape of the board, which must be the one of this codec.
+     * @param difficulty The difficulty to attach to the puzzle.
+     * @param src The array holding the record.
+     * @param offset The index of the first {@code long} of the record.
+     * @return The decoded puzzle.
+     */
+    public Puzzle decode(BoardGeometry geometry, Difficulty difficulty, long[] src, int offset) {
+        int[][] clues = new int[size][size];
+        int[][] solution = new int[size][size];
+        decode(src, offset, clues, solution);
+        return new Puzzle(geometry, difficulty, clues, solution);
+    }
+
+    /**
+     * Decodes a record into the given matrices.
+     *
+     * @param src The array holding the record.
+     * @param offset The index of the first {@code long} of the record.
+     * @param clues The matrix that receives the puzzle.
+     * @param solution The matrix that receives the solution.
+     */
+    public void decode(long[] src, int offset, int[][] clues, int[][] solution) {
+        int bit = 0;
+        for (int row = 0; row < size; row++) {
+            if (ranked) {
+                unrankRow(readBits(src, offset, bit, rowBits), solution[row]);
+                bit += rowBits;
+            } else {
+                for (int col = 0; col < size; col++) {
+                    solution[row][col] = (int) readBits(src, offset, bit, digitBits) + 1;
+                    bit += digitBits;
+                }
+            }
+        }
+        int maskOffset = offset + solutionLongs;
+        for (int cell = 0; cell < cellCount; cell++) {
+            boolean given = (src[maskOffset + (cell >>> 6)] & (1L << (cell & 63))) != 0;
+            clues[cell / size][cell % size] = given ? solution[cell / size][cell % size] : 0;
+        }
+    }
+
+    /**
+     * Returns the Lehmer rank of a row of distinct digits.
+     *
+     * @param row The digits of the row, a permutation of 1 to size.
+     * @return The rank, between 0 and {@code size! - 1}.
+     */
+    private long rankRow(int[] row) {
+        long rank = 0;
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            int digit = row[i] - 1;
+            int smallerUnused = Integer.bitCount(~used & ((1 << digit) - 1));
+            rank += smallerUnused * factorials[size - 1 - i];
+            used |= 1 << digit;
+        }
+        return rank;
+    }
+
+    /**
+     * Rebuilds a row of digits from its Lehmer rank.
+     *
+     * @param rank The rank of the row.
+     * @param row The array that receives the digits.
+     */
+    private void unrankRow(long rank, int[] row) {
+        int unused = (1 << size) - 1;
+        for (int i = 0; i < size; i++) {
+            long factorial = factorials[size - 1 - i];
+            int skip = (int) (rank / factorial);
+            rank %= factorial;
+            int candidates = unused;
+            for (int k = 0; k < skip; k++) {
+                candidates &= candidates - 1;
+            }
+            int bit = candidates & -candidates;
+            row[i] = Integer.numberOfTrailingZeros(bit) + 1;
+            unused &= ~bit;
+        }
+    }
+
+    /**
+     * Writes the low {@code width} bits of a value at the given bit position of a record.
+     *
+     * @param dst The destination array, zeroed beforehand.
+     * @param offset The index of the first {@code long} of the record.
+     * @param bit The bit position within the record.
+     * @param value The value to write.
+     * @param width The number of bits to write, at most 64.
+     */
+    private static void writeBits(long[] dst, int offset, int bit, long value, int width) {
+        int index = offset + (bit >>> 6);
+        int shift = bit & 63;
+        dst[index] |= value << shift;
+        if (shift + width > 64) {
+            dst[index + 1] |= value >>> (64 - shift);
+        }
+    }
+
+    /**
+     * Reads {@code width} bits at the given bit position of a record.
+     *
+     * @param src The array holding the record.
+     * @param offset The index of the first {@code long} of the record.
+     * @param bit The bit position within the record.
+     * @param width The number of bits to read, at most 64.
+     * @return The value read.
+     */
+    private static long readBits(long[] src, int offset, int bit, int width) {
+        int index = offset + (bit >>> 6);
+        int shift = bit & 63;
+        long value = src[index] >>> shift;
+        if (shift + width > 64) {
+            value |= src[index + 1] << (64 - shift);
+        }
+        return width == 64 ? value : value & ((1L << width) - 1);
+    }
+}
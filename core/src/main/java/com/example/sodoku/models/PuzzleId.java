@@ -0,0 +1,195 @@
+package com.example.sodoku.models;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 64-bit identifiers from which a puzzle and its solution are regenerated deterministically, so
+ * puzzles can be handed out, shared and cached by ID instead of being stored.
+ * <p>
+ * Layout, from the most significant bit: block rows (5 bits), block columns (5 bits), difficulty
+ * ordinal (2 bits), solver ordinal (2 bits), fill mode ordinal (2 bits) and a 48-bit seed. Generation
+ * is a function of these fields only: a board reseeded with {@code new SplittableRandom(seed)} makes the same random
+ * choices, so the same ID yields the same puzzle on any thread or machine running the same version.
+ */
+public final class PuzzleId {
+
+    /**
+     * The number of low bits that hold the seed.
+     */
+    public static final int SEED_BITS = 48;
+
+    /**
+     * The mask of the seed bits.
+     */
+    public static final long SEED_MASK = (1L << SEED_BITS) - 1;
+
+    /**
+     * The ID of puzzles that were not generated from an ID, such as those read from a bank.
+     * No valid ID is 0, since the block shape is at least 1x1.
+     */
+    public static final long NONE = 0;
+
+    private static final int FILL_SHIFT = SEED_BITS;
+    private static final int SOLVER_SHIFT = FILL_SHIFT + 2;
+    private static final int DIFFICULTY_SHIFT = SOLVER_SHIFT + 2;
+    private static final int COLS_SHIFT = DIFFICULTY_SHIFT + 2;
+    private static final int ROWS_SHIFT = COLS_SHIFT + 5;
+
+    /**
+     * Prevents instantiation; every member is static.
+     */
+    private PuzzleId() {
+    }
+
+    /**
+     * Builds the ID of a puzzle whose board is filled by {@link FillMode#SEARCH}.
+     *
+     * @param geometry The shape of the board.
+     * @param solverType The solver engine that fills the board.
+     * @param difficulty The difficulty level.
+     * @param seed The seed; only its low {@link #SEED_BITS} bits are kept.
+     * @return The puzzle ID.
+     */
+    public static long of(BoardGeometry geometry, SolverType solverType, Difficulty difficulty, long seed) {
+        return of(geometry, solverType, difficulty, FillMode.SEARCH, seed);
+    }
+
+    /**
+     * Builds the ID of a puzzle.
+     *
+     * @param geometry The shape of the board.
+     * @param solverType The solver engine that fills the board or, with {@link FillMode#TRANSFORM},
+     *                   checks the removals.
+     * @param difficulty The difficulty level.
+     * @param fillMode How the board is filled before cells are removed.
+     * @param seed The seed; only its low {@link #SEED_BITS} bits are kept.
+     * @return The puzzle ID.
+     */
+    public static long of(BoardGeometry geometry, SolverType solverType, Difficulty difficulty, FillMode fillMode,
+                          long seed) {
+        return (long) geometry.getBlockRows() << ROWS_SHIFT
+                | (long) geometry.getBlockCols() << COLS_SHIFT
+                | (long) difficulty.ordinal() << DIFFICULTY_SHIFT
+                | (long) solverType.ordinal() << SOLVER_SHIFT
+                | (long) fillMode.ordinal() << FILL_SHIFT
+                | seed & SEED_MASK;
+    }
+
+    /**
+     * Draws a new puzzle ID with a random seed.
+     *
+     * @param geometry The shape of the board.
+     * @param solverType The solver engine that fills the board.
+     * @param difficulty The difficulty level.
+     * @param random The generator the seed is drawn from.
+     * @return The puzzle ID.
+     */
+    public static long random(BoardGeometry geometry, SolverType solverType, Difficulty difficulty,
+                              RandomGenerator random) {
+        return of(geometry, solverType, difficulty, random.nextLong());
+    }
+
+    /**
+     * Returns the board shape encoded in an ID.
+     *
+     * @param id The puzzle ID.
+     * @return The geometry of the puzzle.
+     * @throws IllegalArgumentException if the ID does not encode a valid block shape.
+     */
+    public static BoardGeometry geometry(long id) {
+        return BoardGeometry.of((int) (id >>> ROWS_SHIFT) & 0x1F, (int) (id >>> COLS_SHIFT) & 0x1F);
+    }
+
+    /**
+     * Returns the solver engine encoded in an ID.
+     *
+     * @param id The puzzle ID.
+     * @return The solver type of the puzzle.
+     * @throws IllegalArgumentException if the ID does not encode a known solver.
+     */
+    public static SolverType solverType(long id) {
+        int ordinal = (int) (id >>> SOLVER_SHIFT) & 0x3;
+        SolverType[] types = SolverType.values();
+        if (ordinal >= types.length) {
+            throw new IllegalArgumentException("Invalid puzzle ID: " + format(id));
+        }
+        return types[ordinal];
+    }
+
+    /**
+     * Returns the difficulty level encoded in an ID.
+     *
+     * @param id The puzzle ID.
+     * @return The difficulty of the puzzle.
+     * @throws IllegalArgumentException if the ID does not encode a known difficulty.
+     */
+    public static Difficulty difficulty(long id) {
+        int ordinal = (int) (id >>> DIFFICULTY_SHIFT) & 0x3;
+        Difficulty[] levels = Difficulty.values();
+        if (ordinal >= levels.length) {
+            throw new IllegalArgumentException("Invalid puzzle ID: " + format(id));
+        }
+        return levels[ordinal];
+    }
+
+    /**
+     * Returns the fill mode encoded in an ID.
+     *
+     * @param id The puzzle ID.
+     * @return How the board of the puzzle is filled.
+     * @throws IllegalArgumentException if the ID does not encode a known fill mode.
+     */
+    public static FillMode fillMode(long id) {
+        int ordinal = (int) (id >>> FILL_SHIFT) & 0x3;
+        FillMode[] modes = FillMode.values();
+        if (ordinal >= modes.length) {
+            throw new IllegalArgumentException("Invalid puzzle ID: " + format(id));
+        }
+        return modes[ordinal];
+    }
+
+    /**
+     * Returns the seed encoded in an ID.
+     *
+     * @param id The puzzle ID.
+     * @return The seed, between 0 and {@link #SEED_MASK}.
+     */
+    public static long seed(long id) {
+        return id & SEED_MASK;
+    }
+
+    /**
+     * Regenerates the puzzle of an ID. Callers that regenerate many IDs of the same shape, solver and
+     * difficulty should reuse a board through {@link BoardModel#regenerate(long)} instead.
+     *
+     * @param id The puzzle ID.
+     * @return The puzzle and its solution.
+     * @throws IllegalArgumentException if the ID is not valid.
+     */
+    public static Puzzle generate(long id) {
+        BoardModel board = new BoardModel(id);
+        return Puzzle.copyOf(board, board.getDifficulty());
+    }
+
+    /**
+     * Formats an ID as 16 hexadecimal digits, the form shown to players.
+     *
+     * @param id The puzzle ID.
+     * @return The ID in hexadecimal.
+     */
+    public static String format(long id) {
+        String hex = Long.toHexString(id).toUpperCase();
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    /**
+     * Parses an ID written by {@link #format(long)}.
+     *
+     * @param text The ID in hexadecimal.
+     * @return The puzzle ID.
+     * @throws NumberFormatException if the text is not a 64-bit hexadecimal number.
+     */
+    public static long parse(String text) {
+        return Long.parseUnsignedLong(text.trim(), 16);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sodoku.models;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generator shared by a board and its solvers that can be restarted from a seed, so one board can
+ * regenerate the puzzle of any {@link PuzzleId} without rebuilding its solvers. Draws are forwarded
+ * to the current stream: the generator the board was created with, or a {@link SplittableRandom}
+ * created from the last seed.
+ */
+final class ReseedableRandom implements RandomGenerator {
+
+    private RandomGenerator stream;
+
+    /**
+     * Creates a generator that draws from the given stream until it is reseeded.
+     *
+     * @param stream The initial stream.
+     */
+    ReseedableRandom(RandomGenerator stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Restarts the generator, so the following draws are those of {@code new SplittableRandom(seed)}.
+     *
+     * @param seed The seed of the new stream.
+     */
+    void reseed(long seed) {
+        stream = new SplittableRandom(seed);
+    }
+
+    @Override
+    public long nextLong() {
+        return stream.nextLong();
+    }
+
+    @Override
+    public int nextInt() {
+        return stream.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return stream.nextInt(bound);
+    }
+}
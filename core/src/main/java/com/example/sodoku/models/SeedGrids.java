@@ -0,0 +1,67 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.ISolver;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the solution grids that {@link FillMode#TRANSFORM} boards transform into new grids.
+ * The grids of a geometry are solved once, on first use, from a fixed seed, so they are the same on
+ * every run and puzzle IDs regenerate the same puzzles.
+ */
+final class SeedGrids {
+
+    /**
+     * The number of seed grids kept per geometry.
+     */
+    static final int COUNT = 16;
+
+    private static final long SEED = 0x5EED_6A1D_0F5D_0C0L;
+    private static final Map<BoardGeometry, int[][]> GRIDS = new ConcurrentHashMap<>();
+
+    /**
+     * Prevents instantiation; every member is static.
+     */
+    private SeedGrids() {
+    }
+
+    /**
+     * Returns the seed grids of a geometry, solving them on the first call.
+     *
+     * @param geometry The shape of the grids.
+     * @return {@link #COUNT} solution grids, each flattened row by row. Callers must not modify them.
+     */
+    static int[][] of(BoardGeometry geometry) {
+        return GRIDS.computeIfAbsent(geometry, SeedGrids::solve);
+    }
+
+    /**
+     * Solves the seed grids of a geometry from empty boards.
+     *
+     * @param geometry The shape of the grids.
+     * @return The flattened seed grids.
+     */
+    private static int[][] solve(BoardGeometry geometry) {
+        int size = geometry.getSize();
+        SplittableRandom random = new SplittableRandom(
+                SEED ^ (long) geometry.getBlockRows() << 8 ^ geometry.getBlockCols());
+        ISolver solver = SolverType.PROPAGATION.create(geometry, random);
+        int[][] board = new int[size][size];
+        int[][] grids = new int[COUNT][size * size];
+        for (int[] grid : grids) {
+            for (int[] row : board) {
+                Arrays.fill(row, 0);
+            }
+            if (!solver.solve(board)) {
+                throw new IllegalStateException("Cannot fill an empty " + geometry + " board");
+            }
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(board[i], 0, grid, i * size, size);
+            }
+        }
+        return grids;
+    }
+}
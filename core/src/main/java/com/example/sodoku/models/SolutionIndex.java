@@ -0,0 +1,383 @@
+package com.example.sodoku.models;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * Index of every solution grid of a small geometry, numbering them from 0 so a grid can be stored as
+ * an {@code int} rank, drawn uniformly at random and validated by lookup. The 6x6 board with 2x3 blocks
+ * has 28,200,960 solution grids.
+ * <p>
+ * Every grid is a relabeling of exactly one normalized grid, whose first row is {@code 1, 2, ..., size},
+ * and the relabeling is the first row itself. Only the normalized grids are kept, as a sorted
+ * {@code long[]} in which each grid packs the lexicographic index of its rows 2 to {@code size}
+ * (10 bits each, since a row is one of at most 720 permutations); for 6x6 that is 39,168 keys in
+ * 306 KB. The rank of a grid is {@code firstRowIndex * normalizedCount + keyIndex}.
+ * <p>
+ * The normalized grids are enumerated on every core, one task per possible second row, and each task
+ * tries digits in ascending order, so the keys come out already sorted. Indexes are built once per
+ * geometry, on first use, and shared.
+ */
+public final class SolutionIndex {
+
+    /**
+     * The largest board side that can be indexed: rows are packed in 10 bits and at most 6 of them fit a key.
+     */
+    public static final int MAX_SIZE = 6;
+
+    private static final int ROW_BITS = 10;
+    private static final long ROW_MASK = (1L << ROW_BITS) - 1;
+    private static final Map<BoardGeometry, SolutionIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final BoardGeometry geometry;
+    private final int size;
+    private final int[][] permutations;
+    private final long[] keys;
+    private final int count;
+
+    /**
+     * Enumerates the solution grids of a geometry.
+     *
+     * @param geometry The shape of the grids.
+     */
+    private SolutionIndex(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.permutations = permutations(size);
+        this.keys = enumerate();
+        long total = (long) keys.length * permutations.length;
+        if (total > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many " + geometry + " grids to rank in an int: " + total);
+        }
+        this.count = (int) total;
+    }
+
+    /**
+     * Checks if the solution grids of a geometry can be indexed.
+     *
+     * @param geometry The shape of the grids.
+     * @return true if the board side is at most {@link #MAX_SIZE}.
+     */
+    public static boolean supports(BoardGeometry geometry) {
+        return geometry.getSize() <= MAX_SIZE;
+    }
+
+    /**
+     * Returns the index of a geometry, enumerating its grids on the first call.
+     *
+     * @param geometry The shape of the grids.
+     * @return The shared index of the geometry.
+     * @throws IllegalArgumentException if the geometry is not {@link #supports(BoardGeometry) supported}.
+     */
+    public static SolutionIndex of(BoardGeometry geometry) {
+        if (!supports(geometry)) {
+            throw new IllegalArgumentException("Cannot index " + geometry + " grids: the board is too large");
+        }
+        return INDEXES.computeIfAbsent(geometry, SolutionIndex::new);
+    }
+
+    /**
+     * Returns the number of solution grids, so ranks go from 0 to {@code size() - 1}.
+     *
+     * @return The grid count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the rank of a grid.
+     *
+     * @param grid The grid to look up.
+     * @return The rank of the grid, or -1 if it is not a valid solution grid of the geometry.
+     */
+    public int rank(int[][] grid) {
+        int relabel = rowIndex(grid[0], null);
+        if (relabel < 0) {
+            return -1;
+        }
+        int[] normalize = new int[size + 1];
+        for (int col = 0; col < size; col++) {
+            normalize[grid[0][col]] = col + 1;
+        }
+        long key = 0;
+        for (int row = 1; row < size; row++) {
+            int index = rowIndex(grid[row], normalize);
+            if (index < 0) {
+                return -1;
+            }
+            key = key << ROW_BITS | index;
+        }
+        int found = Arrays.binarySearch(keys, key);
+        return found < 0 ? -1 : relabel * keys.length + found;
+    }
+
+    /**
+     * Checks if a grid is a valid solution grid of the geometry.
+     *
+     * @param grid The grid to check.
+     * @return true if the grid has a rank.
+     */
+    public boolean isValid(int[][] grid) {
+        return rank(grid) >= 0;
+    }
+
+    /**
+     * Writes the grid of a rank.
+     *
+     * @param rank The rank, between 0 and {@code size() - 1}.
+     * @param grid Receives the grid; it must be {@code size x size}.
+     * @throws IndexOutOfBoundsException if the rank is out of range.
+     */
+    public void unrank(int rank, int[][] grid) {
+        if (rank < 0 || rank >= count) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of " + count);
+        }
+        int[] relabel = permutations[rank / keys.length];
+        long key = keys[rank % keys.length];
+        System.arraycopy(relabel, 0, grid[0], 0, size);
+        for (int row = size - 1; row >= 1; row--) {
+            int[] normalized = permutations[(int) (key & ROW_MASK)];
+            key >>>= ROW_BITS;
+            for (int col = 0; col < size; col++) {
+                grid[row][col] = relabel[normalized[col] - 1];
+            }
+        }
+    }
+
+    /**
+     * Draws a rank uniformly at random, so every solution grid is equally likely.
+     *
+     * @param random The generator to draw from.
+     * @return A rank between 0 and {@code size() - 1}.
+     */
+    public int randomRank(RandomGenerator random) {
+        return random.nextInt(count);
+    }
+
+    /**
+     * Returns the shape of the indexed grids.
+     *
+     * @return The geometry of the index.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+
+    /**
+     * Returns the lexicographic index of a row among the permutations of the digits.
+     *
+     * @param row The row.
+     * @param relabel Maps every digit of the row to the digit it is counted as, or null to count it as is.
+     * @return The index of the row, or -1 if it is not a permutation of the digits.
+     */
+    private int rowIndex(int[] row, int[] relabel) {
+        int unused = (1 << size) - 1;
+        int index = 0;
+        for (int col = 0; col < size; col++) {
+            int digit = row[col];
+            if (digit < 1 || digit > size) {
+                return -1;
+            }
+            int bit = relabel == null ? digit - 1 : relabel[digit] - 1;
+            if ((unused & 1 << bit) == 0) {
+                return -1;
+            }
+            index = index * (size - col) + Integer.bitCount(unused & (1 << bit) - 1);
+            unused &= ~(1 << bit);
+        }
+        return index;
+    }
+
+    /**
+     * Enumerates the keys of the normalized grids on every core, one task per second row.
+     *
+     * @return The sorted keys.
+     */
+    private long[] enumerate() {
+        if (size == 1) {
+            return new long[] {0};
+        }
+        List<Callable<long[]>> tasks = new ArrayList<>();
+        for (int[] second : permutations) {
+            Enumerator enumerator = new Enumerator(second);
+            if (enumerator.fits()) {
+                tasks.add(enumerator::run);
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        try {
+            List<long[]> parts = new ArrayList<>();
+            int total = 0;
+            for (Future<long[]> result : pool.invokeAll(tasks)) {
+                long[] part = result.get();
+                parts.add(part);
+                total += part.length;
+            }
+            long[] all = new long[total];
+            int next = 0;
+            for (long[] part : parts) {
+                System.arraycopy(part, 0, all, next, part.length);
+                next += part.length;
+            }
+            return all;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while indexing " + geometry + " grids", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Lists the permutations of the digits 1 to {@code size} in lexicographic order.
+     *
+     * @param size The number of digits.
+     * @return Every permutation; the index of each is its {@link #rowIndex(int[], int[]) row index}.
+     */
+    private static int[][] permutations(int size) {
+        int factorial = 1;
+        for (int i = 2; i <= size; i++) {
+            factorial *= i;
+        }
+        int[][] all = new int[factorial][];
+        int[] current = new int[size];
+        for (int i = 0; i < size; i++) {
+            current[i] = i + 1;
+        }
+        for (int p = 0; p < factorial; p++) {
+            all[p] = current.clone();
+            int i = size - 2;
+            while (i >= 0 && current[i] > current[i + 1]) {
+                i--;
+            }
+            if (i < 0) {
+                break;
+            }
+            int j = size - 1;
+            while (current[j] < current[i]) {
+                j--;
+            }
+            int temp = current[i];
+            current[i] = current[j];
+            current[j] = temp;
+            for (int a = i + 1, b = size - 1; a < b; a++, b--) {
+                temp = current[a];
+                current[a] = current[b];
+                current[b] = temp;
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Enumerates the normalized grids with a given second row by backtracking over rows 3 onwards.
+     * Each enumerator owns its masks, so enumerators run in parallel without sharing anything.
+     */
+    private final class Enumerator {
+
+        private final int[][] grid = new int[size][size];
+        private final int[] colMasks = new int[size];
+        private final int[] blockMasks = new int[size];
+        private final int[] rowMasks = new int[size];
+        private long[] found = new long[64];
+        private int foundCount;
+
+        /**
+         * Places the normalized first row and the given second row.
+         *
+         * @param second The second row.
+         */
+        Enumerator(int[] second) {
+            for (int col = 0; col < size; col++) {
+                grid[0][col] = col + 1;
+                grid[1][col] = second[col];
+            }
+        }
+
+        /**
+         * Checks if the first two rows are consistent, and records their digits in the masks.
+         *
+         * @return true if no digit repeats in a column or block.
+         */
+        boolean fits() {
+            for (int row = 0; row < 2 && row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int bit = 1 << grid[row][col];
+                    int block = geometry.blockIndex(row, col);
+                    if ((colMasks[col] & bit) != 0 || (blockMasks[block] & bit) != 0) {
+                        return false;
+                    }
+                    colMasks[col] |= bit;
+                    blockMasks[block] |= bit;
+                    rowMasks[row] |= bit;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Enumerates every completion of the first two rows.
+         *
+         * @return The keys of the completions, in ascending order.
+         */
+        long[] run() {
+            search(2 * size);
+            return Arrays.copyOf(found, foundCount);
+        }
+
+        /**
+         * Fills the cells from the given one onwards, trying digits in ascending order.
+         *
+         * @param cell The next cell to fill.
+         */
+        private void search(int cell) {
+            if (cell == size * size) {
+                record();
+                return;
+            }
+            int row = cell / size;
+            int col = cell % size;
+            int block = geometry.blockIndex(row, col);
+            int used = rowMasks[row] | colMasks[col] | blockMasks[block];
+            for (int digit = 1; digit <= size; digit++) {
+                int bit = 1 << digit;
+                if ((used & bit) != 0) {
+                    continue;
+                }
+                grid[row][col] = digit;
+                rowMasks[row] |= bit;
+                colMasks[col] |= bit;
+                blockMasks[block] |= bit;
+                search(cell + 1);
+                rowMasks[row] &= ~bit;
+                colMasks[col] &= ~bit;
+                blockMasks[block] &= ~bit;
+            }
+        }
+
+        /**
+         * Appends the key of the completed grid.
+         */
+        private void record() {
+            long key = 0;
+            for (int row = 1; row < size; row++) {
+                key = key << ROW_BITS | rowIndex(grid[row], null);
+            }
+            if (foundCount == found.length) {
+                found = Arrays.copyOf(found, foundCount * 2);
+            }
+            found[foundCount++] = key;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.ISolver;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Enumerates the solver engines a board can be built with.
+ */
+public enum SolverType {
+
+    /**
+     * Randomized backtracking over the empty cells with bitmask candidate checks. Boards with clues
+     * that it does not solve quickly are handed to propagation.
+     */
+    BACKTRACKING,
+
+    /**
+     * Algorithm X over the exact-cover encoding of the board, using Dancing Links.
+     */
+    DANCING_LINKS,
+
+    /**
+     * Naked-single and hidden-single propagation, branching on the cell with the fewest candidates.
+     */
+    PROPAGATION;
+
+    /**
+     * Creates a new solver of this type.
+     *
+     * @param geometry The shape of the boards to solve.
+     * @param random The generator used to randomize the solutions found.
+     * @return A solver ready to be used on boards of the given geometry.
+     */
+    public ISolver create(BoardGeometry geometry, RandomGenerator random) {
+        switch (this) {
+            case DANCING_LINKS:
+                return new DancingLinksSolver(geometry, random);
+            case PROPAGATION:
+                return new PropagationSolver(geometry, random);
+            case BACKTRACKING:
+            default:
+                return new BacktrackingSolver(geometry, random);
+        }
+    }
+}
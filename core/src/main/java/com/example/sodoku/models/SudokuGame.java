@@ -0,0 +1,443 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.IGame;
+import com.example.sodoku.interfaces.IGameListener;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a Sudoku game implementing the IGame interface. The default board is 6x6,
+ * but any {@link BoardGeometry} is supported.
+ * This class manages the Sudoku game logic, including verifying values,
+ * adding help numbers, and checking if the game is finished.
+ * The empty cells are tracked as moves are made, so finishing and hint checks never scan the board.
+ * Every move is recorded in a {@link MoveJournal}; undo and redo replay the journal through the same
+ * incremental updates as the moves themselves, so validation and hint state roll back without a rescan.
+ * @author Juan Toro
+ */
+public class SudokuGame implements IGame {
+    private final Puzzle puzzle;
+    private final BoardGeometry geometry;
+    private final int[][] matrix;
+    private final int[][] boardFull;
+    private final BitBoard bitBoard;
+    private final int[] emptyCells;
+    private final int[] emptyIndex;
+    private final boolean[] hinted;
+    private int emptyCount;
+    private final HintEngine hintEngine;
+    private boolean hintsStale = true;
+    private final MoveJournal journal = new MoveJournal();
+    private IGameListener listener;
+    private int hintsUsed;
+    private final RandomGenerator randomForHelp = new SplittableRandom();
+
+    /**
+     * Initializes the Sudoku game with an empty 6x6 matrix and sets the number of aids (help numbers) to 3.
+     */
+    public SudokuGame(){
+        this(BoardGeometry.SIX);
+    }
+
+    /**
+     * Initializes the Sudoku game with a freshly generated board of the given geometry.
+     *
+     * @param geometry The shape of the board to play.
+     */
+    public SudokuGame(BoardGeometry geometry) {
+        this(new BoardModel(geometry));
+    }
+
+    /**
+     * Initializes the Sudoku game with the puzzle held by the given board.
+     *
+     * @param boardModel The generated board to play.
+     */
+    private SudokuGame(BoardModel boardModel) {
+        this(new Puzzle(boardModel.getId(), boardModel.getGeometry(), boardModel.getDifficulty(),
+                boardModel.getSudoku(), boardModel.getBoardFull()));
+    }
+
+    /**
+     * Initializes the Sudoku game with an already generated puzzle, such as one taken from a pool.
+     * The clues are copied, so the puzzle itself is never modified by the game.
+     *
+     * @param puzzle The puzzle to play.
+     */
+    public SudokuGame(Puzzle puzzle) {
+        this.puzzle = puzzle;
+        this.geometry = puzzle.getGeometry();
+        int size = geometry.getSize();
+        this.matrix = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(puzzle.getClues()[i], 0, this.matrix[i], 0, size);
+        }
+        this.boardFull = puzzle.getSolution();
+        this.bitBoard = new BitBoard(geometry);
+        this.bitBoard.load(this.matrix);
+        this.hintEngine = new HintEngine(geometry);
+
+        this.emptyCells = new int[geometry.getCellCount()];
+        this.emptyIndex = new int[geometry.getCellCount()];
+        this.hinted = new boolean[geometry.getCellCount()];
+        for (int cell = 0; cell < emptyIndex.length; cell++) {
+            if (matrix[cell / size][cell % size] == 0) {
+                emptyIndex[cell] = emptyCount;
+                emptyCells[emptyCount++] = cell;
+            } else {
+                emptyIndex[cell] = -1;
+            }
+        }
+    }
+
+    /**
+     * Initializes the Sudoku game at a point already reached, such as a saved game. The board holds
+     * the entries on top of the clues and the history of moves starts empty.
+     *
+     * @param puzzle The puzzle being played.
+     * @param entries The board as it was left, clues included, with 0 in the empty cells.
+     * @param hintsUsed The number of hints already given.
+     */
+    public SudokuGame(Puzzle puzzle, int[][] entries, int hintsUsed) {
+        this(puzzle);
+        int size = geometry.getSize();
+        for (int cell = 0; cell < geometry.getCellCount(); cell++) {
+            int value = entries[cell / size][cell % size];
+            if (value != 0 && matrix[cell / size][cell % size] == 0) {
+                put(cell, value);
+            }
+        }
+        this.hintsUsed = hintsUsed;
+    }
+
+    /**
+     * Returns the ID the puzzle of this game can be regenerated from.
+     *
+     * @return The puzzle ID, or {@link PuzzleId#NONE} if the puzzle was not generated from an ID.
+     */
+    public long getPuzzleId() {
+        return puzzle.getId();
+    }
+
+    /**
+     * Returns the puzzle being played, whose clues are the cells the player cannot change.
+     *
+     * @return The puzzle.
+     */
+    public Puzzle getPuzzle() {
+        return puzzle;
+    }
+
+    /**
+     * Returns the number of hints given in this game.
+     *
+     * @return The hint count.
+     */
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+
+    /**
+     * Counts hints given before this game object was created, such as those replayed from a saved
+     * session. The listener is not told.
+     *
+     * @param hints The number of hints to add.
+     */
+    public void addHintsUsed(int hints) {
+        this.hintsUsed += hints;
+    }
+
+    /**
+     * Sets the listener told about every move, undo, redo and hint, replacing the previous one.
+     *
+     * @param listener The listener, or null to stop notifying.
+     */
+    public void setListener(IGameListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Verifies whether the given value can be placed at the specified row and column
+     * in the Sudoku board without violating the rules of Sudoku (no duplicates in the same row, column, or block).
+     * The check is answered from the row, column and block masks, which are kept in sync by
+     * {@link #setValue(int, int, int)} and {@link #clearValue(int, int)}.
+     *
+     * @param value The value to be placed (between 1 and the board size).
+     * @param row The row index where the value is to be placed (0-based).
+     * @param col The column index where the value is to be placed (0-based).
+     * @return true if the value can be placed in the specified location, false otherwise.
+     */
+    public boolean verifyValue(int value, int row, int col) {
+        return bitBoard.canPlace(row, col, value);
+    }
+
+    /**
+     * Places a value in the Sudoku board and marks it as used in its row, column and block.
+     * Any value previously stored in the cell is removed first. The move is recorded for undo.
+     *
+     * @param value The value to place (between 1 and the board size).
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     */
+    public void setValue(int value, int row, int col) {
+        setValue(value, row, col, false);
+    }
+
+    /**
+     * Places a value in the Sudoku board like {@link #setValue(int, int, int)}, remembering whether it
+     * was placed by a hint so undo and redo can tell hinted values apart.
+     *
+     * @param value The value to place (between 1 and the board size).
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @param fromHint true if the value is the one given by a hint.
+     */
+    public void setValue(int value, int row, int col, boolean fromHint) {
+        int cell = row * geometry.getSize() + col;
+        int old = matrix[row][col];
+        boolean oldHinted = hinted[cell];
+        erase(cell);
+        put(cell, value);
+        hinted[cell] = fromHint;
+        if (old != value || oldHinted != fromHint) {
+            int move = MoveJournal.pack(cell, old, value, oldHinted, fromHint);
+            journal.record(move);
+            if (listener != null) {
+                listener.onMove(move);
+            }
+        }
+    }
+
+    /**
+     * Empties a cell of the Sudoku board, freeing its value in its row, column and block.
+     * The move is recorded for undo.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     */
+    public void clearValue(int row, int col) {
+        int cell = row * geometry.getSize() + col;
+        int old = matrix[row][col];
+        if (old != 0) {
+            int move = MoveJournal.pack(cell, old, 0, hinted[cell], false);
+            erase(cell);
+            hinted[cell] = false;
+            journal.record(move);
+            if (listener != null) {
+                listener.onMove(move);
+            }
+        }
+    }
+
+    /**
+     * Takes back the latest move.
+     *
+     * @return The packed move taken back, decoded with {@link MoveJournal}; the cell now holds its
+     *         {@link MoveJournal#oldValue(int) old value}. {@link MoveJournal#NONE} if there is no move.
+     */
+    public int undo() {
+        int move = journal.undo();
+        if (move != MoveJournal.NONE) {
+            replay(MoveJournal.cell(move), MoveJournal.oldValue(move), MoveJournal.wasHinted(move));
+            if (listener != null) {
+                listener.onUndo();
+            }
+        }
+        return move;
+    }
+
+    /**
+     * Replays the latest move taken back.
+     *
+     * @return The packed move replayed, decoded with {@link MoveJournal}; the cell now holds its
+     *         {@link MoveJournal#newValue(int) new value}. {@link MoveJournal#NONE} if there is no move.
+     */
+    public int redo() {
+        int move = journal.redo();
+        if (move != MoveJournal.NONE) {
+            replay(MoveJournal.cell(move), MoveJournal.newValue(move), MoveJournal.isHinted(move));
+            if (listener != null) {
+                listener.onRedo();
+            }
+        }
+        return move;
+    }
+
+    /**
+     * Returns a token for the current point of the game, to return to with {@link #restore(long)}.
+     * Taking a snapshot copies nothing.
+     *
+     * @return The snapshot token.
+     */
+    public long snapshot() {
+        return journal.snapshot();
+    }
+
+    /**
+     * Returns the board to a snapshot by undoing or redoing the moves in between.
+     *
+     * @param snapshot A token returned by {@link #snapshot()}.
+     * @return false if the snapshot is on a discarded branch or older than the kept history, in which
+     *         case the board is unchanged; true otherwise.
+     */
+    public boolean restore(long snapshot) {
+        if (!journal.isValid(snapshot)) {
+            return false;
+        }
+        for (long distance = journal.distanceTo(snapshot); distance < 0; distance++) {
+            undo();
+        }
+        for (long distance = journal.distanceTo(snapshot); distance > 0; distance--) {
+            redo();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the history of moves of this game.
+     *
+     * @return The move journal.
+     */
+    public MoveJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Checks if the value of a cell was placed by a hint.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @return true if the cell holds the value given by a hint.
+     */
+    public boolean isHinted(int row, int col) {
+        return hinted[row * geometry.getSize() + col];
+    }
+
+    /**
+     * Sets a cell to a value from the journal without recording a new move.
+     *
+     * @param cell The cell index.
+     * @param value The value to set, or 0 to empty the cell.
+     * @param fromHint true if the value was placed by a hint.
+     */
+    private void replay(int cell, int value, boolean fromHint) {
+        erase(cell);
+        if (value != 0) {
+            put(cell, value);
+        }
+        hinted[cell] = fromHint;
+    }
+
+    /**
+     * Places a value in an empty cell, updating the masks, the empty-cell list and the hint engine.
+     *
+     * @param cell The cell index.
+     * @param value The value to place.
+     */
+    private void put(int cell, int value) {
+        int size = geometry.getSize();
+        int row = cell / size;
+        int col = cell % size;
+        if (!hintsStale) {
+            hintEngine.place(row, col, value);
+        }
+        int index = emptyIndex[cell];
+        int last = emptyCells[--emptyCount];
+        emptyCells[index] = last;
+        emptyIndex[last] = index;
+        emptyIndex[cell] = -1;
+        matrix[row][col] = value;
+        bitBoard.place(row, col, value);
+    }
+
+    /**
+     * Empties a cell if it holds a value, updating the masks and the empty-cell list. The hint engine
+     * takes the value back incrementally when it was its latest placement, which is the case when
+     * moves are undone in order; otherwise it is rebuilt before the next hint.
+     *
+     * @param cell The cell index.
+     */
+    private void erase(int cell) {
+        int size = geometry.getSize();
+        int row = cell / size;
+        int col = cell % size;
+        if (matrix[row][col] == 0) {
+            return;
+        }
+        if (!hintsStale) {
+            hintsStale = hintEngine.getLastPlacedCell() != cell || !hintEngine.undoPlace();
+        }
+        bitBoard.remove(row, col, matrix[row][col]);
+        matrix[row][col] = 0;
+        emptyIndex[cell] = emptyCount;
+        emptyCells[emptyCount++] = cell;
+    }
+
+    /**
+     * Picks a help number for the Sudoku board: the next move that can be deduced logically, with the
+     * technique that deduces it. The candidates of the hint engine follow the moves made on the board
+     * and are only rebuilt after a value is erased or replaced. When no technique applies, or the board
+     * holds a mistake that makes the deduction differ from the solution, a random empty cell is revealed.
+     * No hint is given for the last empty cell, so the help cannot be used to win.
+     *
+     * @return The hint, or null if at most one cell is empty.
+     */
+    public Hint addHelpNumbers() {
+        if (emptyCount <= 1) {
+            return null;
+        }
+        if (hintsStale) {
+            hintEngine.load(matrix);
+            hintsStale = false;
+        }
+        Hint hint = hintEngine.next();
+        if (hint == null || hint.getValue() != boardFull[hint.getRow()][hint.getCol()]) {
+            int cell = emptyCells[randomForHelp.nextInt(emptyCount)];
+            int row = cell / geometry.getSize();
+            int col = cell % geometry.getSize();
+            hint = new Hint(row, col, this.boardFull[row][col], Technique.REVEAL);
+        }
+        hintsUsed++;
+        if (listener != null) {
+            listener.onHint();
+        }
+        return hint;
+    }
+
+    /**
+     * Checks if the Sudoku game has been completed, i.e., if all cells are filled.
+     *
+     * @return true if all cells are filled and the game is finished, false otherwise.
+     */
+    public boolean gameFinished(){
+        return emptyCount == 0;
+    }
+
+    /**
+     * Returns the number of cells that are still empty.
+     *
+     * @return The number of empty cells.
+     */
+    public int getEmptyCount() {
+        return emptyCount;
+    }
+
+    /**
+     * Returns the sudoku matrix.
+     *
+     * @return Returns the sudoku matrix.
+     */
+    public int[][] getMatrix() {
+        return matrix;
+    }
+
+    /**
+     * Returns the shape of the sudoku board.
+     *
+     * @return The geometry of the board.
+     */
+    public BoardGeometry getGeometry() {
+        return geometry;
+    }
+}
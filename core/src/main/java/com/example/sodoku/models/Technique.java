@@ -0,0 +1,61 @@
+package com.example.sodoku.models;
+
+/**
+ * Human solving techniques, from the cheapest to the hardest. Each one has a weight used to
+ * rate how demanding a deduction, or a whole puzzle, is.
+ */
+public enum Technique {
+
+    /**
+     * A cell with only one candidate left.
+     */
+    NAKED_SINGLE(1),
+
+    /**
+     * A digit that fits only one cell of a row, column or block.
+     */
+    HIDDEN_SINGLE(2),
+
+    /**
+     * The candidates of a digit in a block lie on one row or column, so the digit is removed
+     * from the rest of that line.
+     */
+    POINTING_PAIR(5),
+
+    /**
+     * The candidates of a digit in a row or column lie in one block, so the digit is removed
+     * from the rest of that block.
+     */
+    BOX_LINE_REDUCTION(6),
+
+    /**
+     * Two cells of a unit share the same two candidates, so both digits are removed from the
+     * rest of the unit.
+     */
+    NAKED_PAIR(8),
+
+    /**
+     * No technique applies; the value is copied from the solution.
+     */
+    REVEAL(20);
+
+    private final int weight;
+
+    /**
+     * Creates a technique.
+     *
+     * @param weight The difficulty weight of one use of the technique.
+     */
+    Technique(int weight) {
+        this.weight = weight;
+    }
+
+    /**
+     * Returns the difficulty weight of one use of the technique.
+     *
+     * @return The weight, higher for harder techniques.
+     */
+    public int getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.sodoku.pool;
+
+/**
+ * Immutable snapshot of the counters of a {@link PuzzlePool}.
+ */
+public final class PoolMetrics {
+
+    private final long hits;
+    private final long misses;
+    private final long refilled;
+    private final long refillNanos;
+    private final int depth;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param hits The number of takes served from the pool.
+     * @param misses The number of takes that had to generate a puzzle on the caller's thread.
+     * @param refilled The number of puzzles generated by the background worker.
+     * @param refillNanos The total time the background worker spent generating puzzles.
+     * @param depth The number of puzzles ready across all keys.
+     */
+    PoolMetrics(long hits, long misses, long refilled, long refillNanos, int depth) {
+        this.hits = hits;
+        this.misses = misses;
+        this.refilled = refilled;
+        this.refillNanos = refillNanos;
+        this.depth = depth;
+    }
+
+    /**
+     * Returns the number of takes served from the pool.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of takes that had to generate a puzzle on the caller's thread.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the fraction of takes served from the pool.
+     *
+     * @return A value between 0 and 1, or 0 if nothing was taken yet.
+     */
+    public double getHitRate() {
+        long takes = hits + misses;
+        return takes == 0 ? 0.0 : (double) hits / takes;
+    }
+
+    /**
+     * Returns the number of puzzles generated by the background worker.
+     *
+     * @return The number of refilled puzzles.
+     */
+    public long getRefilled() {
+        return refilled;
+    }
+
+    /**
+     * Returns the average time the background worker spent generating one puzzle.
+     *
+     * @return The mean refill latency in nanoseconds, or 0 if nothing was refilled yet.
+     */
+    public long getAverageRefillNanos() {
+        return refilled == 0 ? 0 : refillNanos / refilled;
+    }
+
+    /**
+     * Returns the number of puzzles ready across all keys.
+     *
+     * @return The pool depth.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hitRate=%.3f, refilled=%d, avgRefill=%.3f ms, depth=%d",
+                hits, misses, getHitRate(), refilled, getAverageRefillNanos() / 1e6, depth);
+    }
+}
@@ -0,0 +1,286 @@
+package com.example.sodoku.pool;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.FillMode;
+import com.example.sodoku.models.Puzzle;
+import com.example.sodoku.models.PuzzleId;
+import com.example.sodoku.models.SolverType;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of ready-to-play puzzles, keyed by board geometry and difficulty, that a background
+ * worker keeps topped up. Taking a puzzle is a queue poll; only when the queue for a key is empty
+ * does the caller generate one itself. Every take schedules a refill of its key. The difficulty of a
+ * key is the level the puzzles are generated with, and how many cells it empties is best-effort on
+ * large boards, as {@link Difficulty} describes.
+ * <p>
+ * Every puzzle is generated from a {@link PuzzleId}, so a puzzle handed out can be found again by its
+ * ID: recently used puzzles are kept in a small cache, and older ones are regenerated on demand.
+ */
+public class PuzzlePool implements AutoCloseable {
+
+    private static final int ID_CACHE_SIZE = 256;
+
+    private final int capacity;
+    private final SolverType solverType;
+    private final FillMode fillMode;
+    private final Map<Key, BlockingQueue<Puzzle>> queues = new ConcurrentHashMap<>();
+    private final Set<Key> scheduled = ConcurrentHashMap.newKeySet();
+    private final Map<Key, BoardModel> generators = new HashMap<>();
+    private final SplittableRandom seeds = new SplittableRandom();
+    private final Map<Long, Puzzle> recent = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Puzzle> eldest) {
+            return size() > ID_CACHE_SIZE;
+        }
+    };
+    private final ExecutorService refiller;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final AtomicLong refilled = new AtomicLong();
+    private final AtomicLong refillNanos = new AtomicLong();
+
+    /**
+     * Creates a pool that keeps up to {@code capacity} puzzles per key.
+     *
+     * @param capacity The maximum number of ready puzzles per geometry and difficulty.
+     * @param solverType The solver engine used to generate puzzles.
+     */
+    public PuzzlePool(int capacity, SolverType solverType) {
+        this(capacity, solverType, FillMode.SEARCH);
+    }
+
+    /**
+     * Creates a pool that keeps up to {@code capacity} puzzles per key, filled the given way.
+     *
+     * @param capacity The maximum number of ready puzzles per geometry and difficulty.
+     * @param solverType The solver engine used to generate puzzles.
+     * @param fillMode How the boards are filled before cells are removed.
+     */
+    public PuzzlePool(int capacity, SolverType solverType, FillMode fillMode) {
+        this.capacity = capacity;
+        this.solverType = solverType;
+        this.fillMode = fillMode;
+        this.refiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "puzzle-pool-refill");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts filling the pool for the given key in the background.
+     *
+     * @param geometry The shape of the puzzles.
+     * @param difficulty The difficulty of the puzzles.
+     */
+    public void prefill(BoardGeometry geometry, Difficulty difficulty) {
+        scheduleRefill(new Key(geometry, difficulty));
+    }
+
+    /**
+     * Returns a ready puzzle of the given key, generating one on the calling thread if the pool is empty.
+     * In both cases a background refill of the key is scheduled.
+     *
+     * @param geometry The shape of the puzzle.
+     * @param difficulty The difficulty of the puzzle.
+     * @return A puzzle that no other caller will receive.
+     */
+    public Puzzle take(BoardGeometry geometry, Difficulty difficulty) {
+        Key key = new Key(geometry, difficulty);
+        Puzzle puzzle = queue(key).poll();
+        if (puzzle != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            puzzle = PuzzleId.generate(PuzzleId.of(geometry, solverType, difficulty, fillMode, nextSeed()));
+        }
+        remember(puzzle);
+        scheduleRefill(key);
+        return puzzle;
+    }
+
+    /**
+     * Puts back a puzzle that was taken but never played, such as one loaded for a game the player
+     * replaced before it started, so the work spent generating it is not lost.
+     *
+     * @param puzzle A puzzle returned by {@link #take(BoardGeometry, Difficulty)}.
+     * @return true if the puzzle was pooled again; false if the pool of its key is full.
+     */
+    public boolean offer(Puzzle puzzle) {
+        return queue(new Key(puzzle.getGeometry(), puzzle.getDifficulty())).offer(puzzle);
+    }
+
+    /**
+     * Returns the puzzle of an ID, from the cache of recently used puzzles or regenerated on the
+     * calling thread.
+     *
+     * @param id The puzzle ID, such as one of a puzzle returned by {@link #take(BoardGeometry, Difficulty)}.
+     * @return The puzzle of the ID.
+     * @throws IllegalArgumentException if the ID is not valid.
+     */
+    public Puzzle get(long id) {
+        Puzzle puzzle;
+        synchronized (recent) {
+            puzzle = recent.get(id);
+        }
+        if (puzzle == null) {
+            puzzle = PuzzleId.generate(id);
+            remember(puzzle);
+        }
+        return puzzle;
+    }
+
+    /**
+     * Returns a snapshot of the pool counters.
+     *
+     * @return The current metrics of the pool.
+     */
+    public PoolMetrics getMetrics() {
+        int depth = 0;
+        for (BlockingQueue<Puzzle> queue : queues.values()) {
+            depth += queue.size();
+        }
+        return new PoolMetrics(hits.sum(), misses.sum(), refilled.get(), refillNanos.get(), depth);
+    }
+
+    /**
+     * Returns how many puzzles are ready for the given key.
+     *
+     * @param geometry The shape of the puzzles.
+     * @param difficulty The difficulty of the puzzles.
+     * @return The number of pooled puzzles.
+     */
+    public int depth(BoardGeometry geometry, Difficulty difficulty) {
+        return queue(new Key(geometry, difficulty)).size();
+    }
+
+    /**
+     * Stops the background refill worker. Puzzles already in the pool can still be taken.
+     */
+    @Override
+    public void close() {
+        refiller.shutdownNow();
+    }
+
+    /**
+     * Returns the queue of the given key, creating it on first use.
+     *
+     * @param key The geometry and difficulty of the puzzles.
+     * @return The queue of ready puzzles.
+     */
+    private BlockingQueue<Puzzle> queue(Key key) {
+        return queues.computeIfAbsent(key, k -> new ArrayBlockingQueue<>(capacity));
+    }
+
+    /**
+     * Adds a puzzle to the cache of recently used puzzles, evicting the least recently used one if full.
+     *
+     * @param puzzle The puzzle to keep.
+     */
+    private void remember(Puzzle puzzle) {
+        synchronized (recent) {
+            recent.put(puzzle.getId(), puzzle);
+        }
+    }
+
+    /**
+     * Draws the seed of the next generated puzzle.
+     *
+     * @return A seed for {@link PuzzleId}.
+     */
+    private long nextSeed() {
+        synchronized (seeds) {
+            return seeds.nextLong();
+        }
+    }
+
+    /**
+     * Submits a refill of the given key unless one is already pending.
+     *
+     * @param key The geometry and difficulty to refill.
+     */
+    private void scheduleRefill(Key key) {
+        if (scheduled.add(key) && !refiller.isShutdown()) {
+            refiller.execute(() -> refill(key));
+        }
+    }
+
+    /**
+     * Generates puzzles on the refill thread until the queue of the key is full.
+     *
+     * @param key The geometry and difficulty to refill.
+     */
+    private void refill(Key key) {
+        scheduled.remove(key);
+        BlockingQueue<Puzzle> queue = queue(key);
+        BoardModel board = generators.get(key);
+        while (queue.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+            long start = System.nanoTime();
+            long id = PuzzleId.of(key.geometry, solverType, key.difficulty, fillMode, nextSeed());
+            if (board == null) {
+                board = new BoardModel(id);
+                generators.put(key, board);
+            } else {
+                board.regenerate(PuzzleId.seed(id));
+            }
+            Puzzle puzzle = Puzzle.copyOf(board, key.difficulty);
+            refillNanos.addAndGet(System.nanoTime() - start);
+            refilled.incrementAndGet();
+            if (!queue.offer(puzzle)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Identifies the queue of puzzles of one geometry and difficulty level; puzzles of the same key
+     * may have different numbers of empty cells.
+     */
+    private static final class Key {
+
+        private final BoardGeometry geometry;
+        private final Difficulty difficulty;
+
+        /**
+         * Creates a pool key.
+         *
+         * @param geometry The shape of the puzzles.
+         * @param difficulty The difficulty of the puzzles.
+         */
+        private Key(BoardGeometry geometry, Difficulty difficulty) {
+            this.geometry = geometry;
+            this.difficulty = difficulty;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return geometry.equals(key.geometry) && difficulty == key.difficulty;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(geometry, difficulty);
+        }
+    }
+}
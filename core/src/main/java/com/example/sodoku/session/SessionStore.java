@@ -0,0 +1,504 @@
+package com.example.sodoku.session;
+
+import com.example.sodoku.interfaces.IGameListener;
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.MoveJournal;
+import com.example.sodoku.models.Puzzle;
+import com.example.sodoku.models.PuzzleCodec;
+import com.example.sodoku.models.SudokuGame;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the game being played so it can be resumed after a restart. A session is two files:
+ * a snapshot written when a game starts, holding the puzzle, its solution, the board and the hints
+ * used, and an append-only log of every move, undo, redo and hint made since. Resuming reads the
+ * snapshot and replays the log through the game, so the undo history comes back too.
+ * <p>
+ * The store listens to the game. A change only appends an {@code int} to a pending batch; a single
+ * background thread writes the batch a short delay after its first entry, so the thread playing the
+ * game never waits for the disk. The snapshot is written to a temporary file and moved into place,
+ * and both files carry the same random stamp, so a log left over from an earlier game is never
+ * replayed on top of a newer snapshot.
+ * <p>
+ * Snapshot layout, little-endian: magic, version, block rows, block columns, difficulty, hints used
+ * as {@code int}s, the stamp and the puzzle ID as {@code long}s, the record length of
+ * {@link PuzzleCodec} and a reserved {@code int}, then the puzzle record and one byte per cell of the
+ * board. Log layout: magic, version and the stamp, then one {@code int} per entry: a move packed by
+ * {@link MoveJournal}, or an undo, redo or hint marker in the top bits.
+ */
+public class SessionStore implements IGameListener, AutoCloseable {
+
+    static final int SNAPSHOT_MAGIC = 0x53444B53;
+    static final int LOG_MAGIC = 0x53444B4C;
+    static final int VERSION = 1;
+    static final int SNAPSHOT_HEADER_BYTES = 48;
+    static final int LOG_HEADER_BYTES = 16;
+    static final int KIND_SHIFT = 28;
+    static final int MOVE = 0;
+    static final int UNDO = 1;
+    static final int REDO = 2;
+    static final int HINT = 3;
+    private static final long FLUSH_DELAY_MILLIS = 200;
+    private static final String SNAPSHOT_FILE = "session.snap";
+    private static final String LOG_FILE = "session.log";
+
+    private final Path directory;
+    private final Path snapshotFile;
+    private final Path logFile;
+    private final ScheduledExecutorService writer;
+    private final SplittableRandom stamps = new SplittableRandom();
+    private final Object lock = new Object();
+    private int[] pending = new int[256];
+    private int[] writing = new int[256];
+    private int pendingCount;
+    private boolean flushScheduled;
+    private SudokuGame game;
+    private long generation;
+
+    // Owned by the writer thread.
+    private FileChannel log;
+    private ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Creates a store that keeps its session in the given directory, created on the first save.
+     *
+     * @param directory The directory of the session files.
+     */
+    public SessionStore(Path directory) {
+        this.directory = directory;
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+        this.logFile = directory.resolve(LOG_FILE);
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts saving a new game: its current board becomes the snapshot and the log starts empty.
+     * The previous game, if any, is no longer saved. Only the board is copied on the calling thread.
+     *
+     * @param game The game to save from now on.
+     */
+    public void start(SudokuGame game) {
+        BoardGeometry geometry = game.getGeometry();
+        int size = geometry.getSize();
+        int[][] matrix = game.getMatrix();
+        byte[] board = new byte[geometry.getCellCount()];
+        for (int cell = 0; cell < board.length; cell++) {
+            board[cell] = (byte) matrix[cell / size][cell % size];
+        }
+        Puzzle puzzle = game.getPuzzle();
+        int hintsUsed = game.getHintsUsed();
+        synchronized (lock) {
+            long stamp = stamps.nextLong();
+            writer.execute(() -> {
+                try {
+                    writeSnapshot(puzzle, board, hintsUsed, stamp);
+                    openLog(stamp, 0, true);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            });
+            attach(game);
+        }
+    }
+
+    /**
+     * Loads the saved session, replaying its log, and keeps saving the resumed game. Intended for a
+     * background thread; the files are read in one pass and no puzzle is generated or solved. If a
+     * new game is started while the session loads, the resumed game is returned but not saved.
+     *
+     * @return The resumed game, or null if there is no saved session or it cannot be read.
+     */
+    public SudokuGame resume() {
+        long expected;
+        synchronized (lock) {
+            expected = generation;
+        }
+        ByteBuffer snapshot;
+        ByteBuffer entries;
+        try {
+            snapshot = ByteBuffer.wrap(Files.readAllBytes(snapshotFile)).order(ByteOrder.LITTLE_ENDIAN);
+            entries = readLog();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            System.err.println("Could not read the saved session: " + e.getMessage());
+            return null;
+        }
+        if (snapshot.remaining() < SNAPSHOT_HEADER_BYTES || snapshot.getInt(0) != SNAPSHOT_MAGIC
+                || snapshot.getInt(4) != VERSION) {
+            return null;
+        }
+        BoardGeometry geometry;
+        Difficulty difficulty;
+        try {
+            geometry = BoardGeometry.of(snapshot.getInt(8), snapshot.getInt(12));
+            difficulty = Difficulty.values()[snapshot.getInt(16)];
+        } catch (RuntimeException e) {
+            return null;
+        }
+        int hintsUsed = snapshot.getInt(20);
+        long stamp = snapshot.getLong(24);
+        long puzzleId = snapshot.getLong(32);
+        PuzzleCodec codec = new PuzzleCodec(geometry);
+        int recordLongs = snapshot.getInt(40);
+        int cellCount = geometry.getCellCount();
+        if (recordLongs != codec.getRecordLongs()
+                || snapshot.remaining() != SNAPSHOT_HEADER_BYTES + recordLongs * Long.BYTES + cellCount) {
+            return null;
+        }
+
+        long[] record = new long[recordLongs];
+        snapshot.position(SNAPSHOT_HEADER_BYTES);
+        snapshot.asLongBuffer().get(record);
+        Puzzle puzzle = codec.decode(geometry, difficulty, record, 0);
+        puzzle = new Puzzle(puzzleId, geometry, difficulty, puzzle.getClues(), puzzle.getSolution());
+        int size = geometry.getSize();
+        int[][] board = new int[size][size];
+        int boardStart = SNAPSHOT_HEADER_BYTES + recordLongs * Long.BYTES;
+        for (int cell = 0; cell < cellCount; cell++) {
+            board[cell / size][cell % size] = snapshot.get(boardStart + cell);
+        }
+
+        int count = 0;
+        if (entries != null && entries.getLong(8) == stamp) {
+            count = (entries.limit() - LOG_HEADER_BYTES) / Integer.BYTES;
+        }
+        SudokuGame resumed = new SudokuGame(puzzle, board, hintsUsed);
+        int replayed = replay(resumed, entries, count);
+        synchronized (lock) {
+            if (generation == expected) {
+                writer.execute(() -> {
+                    try {
+                        openLog(stamp, replayed, replayed == 0);
+                    } catch (IOException e) {
+                        fail(e);
+                    }
+                });
+                attach(resumed);
+            }
+        }
+        return resumed;
+    }
+
+    /**
+     * Writes the entries still pending, waits for the disk and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            detach();
+        }
+        try {
+            writer.submit(() -> {
+                flush();
+                if (log != null) {
+                    try {
+                        log.force(false);
+                        log.close();
+                    } catch (IOException e) {
+                        fail(e);
+                    }
+                    log = null;
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Could not save the session: " + e.getCause());
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    /**
+     * Logs a move of the saved game.
+     *
+     * @param move The move, packed in the format of {@link MoveJournal}.
+     */
+    @Override
+    public void onMove(int move) {
+        append(MOVE << KIND_SHIFT | move);
+    }
+
+    /**
+     * Logs an undo of the saved game.
+     */
+    @Override
+    public void onUndo() {
+        append(UNDO << KIND_SHIFT);
+    }
+
+    /**
+     * Logs a redo of the saved game.
+     */
+    @Override
+    public void onRedo() {
+        append(REDO << KIND_SHIFT);
+    }
+
+    /**
+     * Logs a hint given in the saved game.
+     */
+    @Override
+    public void onHint() {
+        append(HINT << KIND_SHIFT);
+    }
+
+    /**
+     * Starts listening to a game instead of the previous one, whose pending entries are dropped
+     * since its files are about to be replaced. Called with the lock held.
+     *
+     * @param game The game to save.
+     */
+    private void attach(SudokuGame game) {
+        detach();
+        pendingCount = 0;
+        generation++;
+        this.game = game;
+        game.setListener(this);
+    }
+
+    /**
+     * Stops listening to the current game. Called with the lock held.
+     */
+    private void detach() {
+        if (game != null) {
+            game.setListener(null);
+            game = null;
+        }
+    }
+
+    /**
+     * Adds an entry to the pending batch, scheduling a write when the batch was empty.
+     *
+     * @param entry The log entry.
+     */
+    private void append(int entry) {
+        synchronized (lock) {
+            if (pendingCount == pending.length) {
+                int[] grown = new int[pending.length * 2];
+                System.arraycopy(pending, 0, grown, 0, pendingCount);
+                pending = grown;
+            }
+            pending[pendingCount++] = entry;
+            if (!flushScheduled) {
+                flushScheduled = true;
+                writer.schedule(this::flush, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Writes the pending batch to the log, on the writer thread. The two batch arrays are swapped, so
+     * new entries can be appended while the previous ones are written.
+     */
+    private void flush() {
+        int[] batch;
+        int count;
+        synchronized (lock) {
+            flushScheduled = false;
+            batch = pending;
+            count = pendingCount;
+            pending = writing;
+            pendingCount = 0;
+            if (pending.length < batch.length) {
+                pending = new int[batch.length];
+            }
+            writing = batch;
+        }
+        if (count == 0 || log == null) {
+            return;
+        }
+        int bytes = count * Integer.BYTES;
+        if (buffer.capacity() < bytes) {
+            buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        buffer.clear();
+        buffer.asIntBuffer().put(batch, 0, count);
+        buffer.limit(bytes);
+        try {
+            while (buffer.hasRemaining()) {
+                log.write(buffer);
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Replays the log entries on a resumed game, stopping at the first one that does not match the
+     * board, which can only come from a damaged file. Only the hints logged before that entry are
+     * counted, since the entries after it are cut from the log.
+     *
+     * @param game The game to replay on, not yet listened to.
+     * @param entries The log, or null.
+     * @param count The number of entries in the log.
+     * @return The number of entries replayed.
+     */
+    private static int replay(SudokuGame game, ByteBuffer entries, int count) {
+        int size = game.getGeometry().getSize();
+        int[][] matrix = game.getMatrix();
+        int[][] clues = game.getPuzzle().getClues();
+        for (int i = 0; i < count; i++) {
+            int entry = entries.getInt(LOG_HEADER_BYTES + i * Integer.BYTES);
+            int move = entry & ((1 << KIND_SHIFT) - 1);
+            switch (entry >>> KIND_SHIFT) {
+                case MOVE:
+                    int cell = MoveJournal.cell(move);
+                    int value = MoveJournal.newValue(move);
+                    if (cell >= size * size || value > size || clues[cell / size][cell % size] != 0
+                            || matrix[cell / size][cell % size] != MoveJournal.oldValue(move)) {
+                        return i;
+                    }
+                    if (value == 0) {
+                        game.clearValue(cell / size, cell % size);
+                    } else {
+                        game.setValue(value, cell / size, cell % size, MoveJournal.isHinted(move));
+                    }
+                    break;
+                case UNDO:
+                    if (game.undo() == MoveJournal.NONE) {
+                        return i;
+                    }
+                    break;
+                case REDO:
+                    if (game.redo() == MoveJournal.NONE) {
+                        return i;
+                    }
+                    break;
+                case HINT:
+                    game.addHintsUsed(1);
+                    break;
+                default:
+                    return i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Reads the whole log file.
+     *
+     * @return The log, limited to whole entries, or null if there is none or it is not a session log.
+     * @throws IOException if the file exists but cannot be read.
+     */
+    private ByteBuffer readLog() throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(logFile);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        ByteBuffer entries = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < LOG_HEADER_BYTES || entries.getInt(0) != LOG_MAGIC || entries.getInt(4) != VERSION) {
+            return null;
+        }
+        entries.limit(bytes.length - (bytes.length - LOG_HEADER_BYTES) % Integer.BYTES);
+        return entries;
+    }
+
+    /**
+     * Writes the snapshot of a new game, replacing the previous one in a single move.
+     *
+     * @param puzzle The puzzle being played.
+     * @param board The board, one byte per cell.
+     * @param hintsUsed The number of hints already given.
+     * @param stamp The stamp shared by the snapshot and its log.
+     * @throws IOException if writing fails.
+     */
+    private void writeSnapshot(Puzzle puzzle, byte[] board, int hintsUsed, long stamp) throws IOException {
+        BoardGeometry geometry = puzzle.getGeometry();
+        PuzzleCodec codec = new PuzzleCodec(geometry);
+        int recordLongs = codec.getRecordLongs();
+        long[] record = new long[recordLongs];
+        codec.encode(puzzle.getClues(), puzzle.getSolution(), record, 0);
+
+        ByteBuffer snapshot = ByteBuffer.allocate(SNAPSHOT_HEADER_BYTES + recordLongs * Long.BYTES + board.length)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        snapshot.putInt(SNAPSHOT_MAGIC).putInt(VERSION)
+                .putInt(geometry.getBlockRows()).putInt(geometry.getBlockCols())
+                .putInt(puzzle.getDifficulty().ordinal()).putInt(hintsUsed)
+                .putLong(stamp).putLong(puzzle.getId())
+                .putInt(recordLongs).putInt(0);
+        for (long value : record) {
+            snapshot.putLong(value);
+        }
+        snapshot.put(board);
+
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        Files.write(temporary, snapshot.array());
+        Files.move(temporary, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Opens the log for appending, on the writer thread, closing the previous one.
+     *
+     * @param stamp The stamp of the snapshot the log belongs to.
+     * @param entries The number of entries to keep; any damaged tail after them is cut off.
+     * @param fresh true to start an empty log with a new header.
+     * @throws IOException if the file cannot be opened or written.
+     */
+    private void openLog(long stamp, int entries, boolean fresh) throws IOException {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (fresh) {
+                channel.truncate(0);
+                ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                header.putInt(LOG_MAGIC).putInt(VERSION).putLong(stamp).flip();
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } else {
+                long end = LOG_HEADER_BYTES + (long) entries * Integer.BYTES;
+                channel.truncate(end);
+                channel.position(end);
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        log = channel;
+    }
+
+    /**
+     * Reports a failed write and stops saving until the next game starts.
+     *
+     * @param e The failure.
+     */
+    private void fail(IOException e) {
+        System.err.println("Could not save the session: " + e.getMessage());
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException ignored) {
+                // The log is abandoned anyway.
+            }
+            log = null;
+        }
+    }
+}
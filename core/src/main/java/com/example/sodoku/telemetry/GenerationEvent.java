@@ -0,0 +1,106 @@
+package com.example.sodoku.telemetry;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.SolverType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one generated puzzle, split into its fill and removal phases.
+ * Its duration is the whole generation. Finishing the event also adds the puzzle to the generator
+ * counters, whether or not a recording is running.
+ */
+@Name("com.example.sodoku.Generation")
+@Label("Sudoku Generation")
+@Category("Sudoku")
+@Description("A puzzle generated by a board")
+public final class GenerationEvent extends Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Board Size")
+    int boardSize;
+
+    @Label("Difficulty")
+    String difficulty;
+
+    @Label("Fill Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long fillNanos;
+
+    @Label("Removal Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long removeNanos;
+
+    @Label("Removed Cells")
+    int removed;
+
+    @Label("Uniqueness Checks")
+    int checks;
+
+    @Label("Uniqueness Nodes")
+    long checkNodes;
+
+    private transient long startNanos;
+    private transient long filledNanos;
+
+    /**
+     * Creates an event; use {@link #start()}.
+     */
+    private GenerationEvent() {
+    }
+
+    /**
+     * Starts timing a generation, beginning with its fill phase.
+     *
+     * @return The event to finish once the puzzle is ready.
+     */
+    public static GenerationEvent start() {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Marks the end of the fill phase and the start of the removal phase.
+     */
+    public void filled() {
+        filledNanos = System.nanoTime();
+    }
+
+    /**
+     * Stops timing the generation, adds it to the generator counters and commits the event if a
+     * recording wants it.
+     *
+     * @param type The engine that filled the board.
+     * @param geometry The shape of the board.
+     * @param level The difficulty the puzzle was generated with.
+     * @param removedCells The number of cells emptied.
+     * @param uniquenessChecks The number of uniqueness checks run while removing cells.
+     * @param uniquenessNodes The search decisions taken by those checks.
+     */
+    public void finish(SolverType type, BoardGeometry geometry, Difficulty level,
+                       int removedCells, int uniquenessChecks, long uniquenessNodes) {
+        long fill = filledNanos - startNanos;
+        long remove = System.nanoTime() - filledNanos;
+        Telemetry.generatorCounters().add(fill, remove, removedCells, uniquenessChecks, uniquenessNodes);
+        if (shouldCommit()) {
+            solver = type.name();
+            boardSize = geometry.getSize();
+            difficulty = level.name();
+            fillNanos = fill;
+            removeNanos = remove;
+            removed = removedCells;
+            checks = uniquenessChecks;
+            checkNodes = uniquenessNodes;
+            commit();
+        }
+    }
+}
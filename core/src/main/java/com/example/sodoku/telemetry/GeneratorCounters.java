@@ -0,0 +1,85 @@
+package com.example.sodoku.telemetry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of puzzle generation, shared by every generating thread.
+ */
+final class GeneratorCounters implements GeneratorMXBean {
+
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder fillNanos = new LongAdder();
+    private final LongAdder removeNanos = new LongAdder();
+    private final LongAdder removed = new LongAdder();
+    private final LongAdder checks = new LongAdder();
+    private final LongAdder checkNodes = new LongAdder();
+
+    /**
+     * Adds one generated puzzle.
+     *
+     * @param fill The time spent filling the solved board, in nanoseconds.
+     * @param remove The time spent removing cells, in nanoseconds.
+     * @param removedCells The number of cells emptied.
+     * @param uniquenessChecks The number of uniqueness checks run.
+     * @param uniquenessNodes The search decisions taken by those checks.
+     */
+    void add(long fill, long remove, int removedCells, int uniquenessChecks, long uniquenessNodes) {
+        generated.increment();
+        fillNanos.add(fill);
+        removeNanos.add(remove);
+        removed.add(removedCells);
+        checks.add(uniquenessChecks);
+        checkNodes.add(uniquenessNodes);
+    }
+
+    @Override
+    public long getGenerated() {
+        return generated.sum();
+    }
+
+    @Override
+    public double getMeanFillMicros() {
+        return mean(fillNanos) / 1e3;
+    }
+
+    @Override
+    public double getMeanRemoveMicros() {
+        return mean(removeNanos) / 1e3;
+    }
+
+    @Override
+    public double getMeanRemoved() {
+        return mean(removed);
+    }
+
+    @Override
+    public long getUniquenessChecks() {
+        return checks.sum();
+    }
+
+    @Override
+    public long getUniquenessNodes() {
+        return checkNodes.sum();
+    }
+
+    @Override
+    public void reset() {
+        generated.reset();
+        fillNanos.reset();
+        removeNanos.reset();
+        removed.reset();
+        checks.reset();
+        checkNodes.reset();
+    }
+
+    /**
+     * Divides a sum by the number of generated puzzles.
+     *
+     * @param total The sum to average.
+     * @return The mean per puzzle, or 0 if nothing was generated yet.
+     */
+    private double mean(LongAdder total) {
+        long count = generated.sum();
+        return count == 0 ? 0.0 : (double) total.sum() / count;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sodoku.telemetry;
+
+/**
+ * Management view of puzzle generation, registered as {@code com.example.sodoku:type=Generator}.
+ * Generation has two phases: filling a solved board and removing cells while the solution stays unique.
+ */
+public interface GeneratorMXBean {
+
+    /**
+     * Returns the number of puzzles generated.
+     *
+     * @return The number of puzzles.
+     */
+    long getGenerated();
+
+    /**
+     * Returns the mean time spent filling the solved board of a puzzle.
+     *
+     * @return The mean fill time in microseconds.
+     */
+    double getMeanFillMicros();
+
+    /**
+     * Returns the mean time spent removing cells from a puzzle.
+     *
+     * @return The mean removal time in microseconds.
+     */
+    double getMeanRemoveMicros();
+
+    /**
+     * Returns the mean number of cells emptied per puzzle.
+     *
+     * @return The mean number of removed cells.
+     */
+    double getMeanRemoved();
+
+    /**
+     * Returns the number of uniqueness checks run while removing cells.
+     *
+     * @return The number of checks.
+     */
+    long getUniquenessChecks();
+
+    /**
+     * Returns the number of search decisions taken by the uniqueness checks.
+     *
+     * @return The total number of check nodes.
+     */
+    long getUniquenessNodes();
+
+    /**
+     * Clears every counter.
+     */
+    void reset();
+}
@@ -0,0 +1,83 @@
+package com.example.sodoku.telemetry;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.SolverStats;
+import com.example.sodoku.models.SolverType;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for one solve run by a board, with the search statistics of the solver.
+ * Its duration is the wall time of the solve. Finishing the event also adds the solve to the
+ * counters of the engine, whether or not a recording is running.
+ */
+@Name("com.example.sodoku.Solve")
+@Label("Sudoku Solve")
+@Category("Sudoku")
+@Description("A board filled by a solver engine")
+public final class SolveEvent extends Event {
+
+    @Label("Solver")
+    String solver;
+
+    @Label("Board Size")
+    int boardSize;
+
+    @Label("Solved")
+    boolean solved;
+
+    @Label("Nodes")
+    long nodes;
+
+    @Label("Backtracks")
+    long backtracks;
+
+    @Label("Max Depth")
+    int maxDepth;
+
+    private transient long startNanos;
+
+    /**
+     * Creates an event; use {@link #start()}.
+     */
+    private SolveEvent() {
+    }
+
+    /**
+     * Starts timing a solve.
+     *
+     * @return The event to finish once the solve returns.
+     */
+    public static SolveEvent start() {
+        SolveEvent event = new SolveEvent();
+        event.begin();
+        event.startNanos = System.nanoTime();
+        return event;
+    }
+
+    /**
+     * Stops timing the solve, adds it to the counters of its engine and commits the event if a
+     * recording wants it.
+     *
+     * @param type The engine that ran the solve.
+     * @param geometry The shape of the solved board.
+     * @param stats The statistics of the solve.
+     * @param result Whether the solve found a solution.
+     */
+    public void finish(SolverType type, BoardGeometry geometry, SolverStats stats, boolean result) {
+        long elapsed = System.nanoTime() - startNanos;
+        Telemetry.solverCounters(type).add(result, elapsed, stats.getNodes(), stats.getBacktracks(), stats.getMaxDepth());
+        if (shouldCommit()) {
+            solver = type.name();
+            boardSize = geometry.getSize();
+            solved = result;
+            nodes = stats.getNodes();
+            backtracks = stats.getBacktracks();
+            maxDepth = stats.getMaxDepth();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.sodoku.telemetry;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one solver engine. Adders keep the updates of concurrent generator threads, such as the
+ * batch workers and the puzzle pool, from contending on a shared field.
+ */
+final class SolverCounters implements SolverMXBean {
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder backtracks = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Adds one solve.
+     *
+     * @param solved Whether the solve found a solution.
+     * @param elapsed The wall time of the solve in nanoseconds.
+     * @param solveNodes The search decisions taken.
+     * @param solveBacktracks The decisions undone.
+     * @param depth The deepest search stack reached.
+     */
+    void add(boolean solved, long elapsed, long solveNodes, long solveBacktracks, int depth) {
+        solves.increment();
+        if (!solved) {
+            failures.increment();
+        }
+        nanos.add(elapsed);
+        nodes.add(solveNodes);
+        backtracks.add(solveBacktracks);
+        maxDepth.accumulate(depth);
+    }
+
+    @Override
+    public long getSolves() {
+        return solves.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public double getMeanSolveMicros() {
+        long count = solves.sum();
+        return count == 0 ? 0.0 : nanos.sum() / 1e3 / count;
+    }
+
+    @Override
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    @Override
+    public long getBacktracks() {
+        return backtracks.sum();
+    }
+
+    @Override
+    public long getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public void reset() {
+        solves.reset();
+        failures.reset();
+        nanos.reset();
+        nodes.reset();
+        backtracks.reset();
+        maxDepth.reset();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sodoku.telemetry;
+
+/**
+ * Management view of the solves run by one solver engine, registered as
+ * {@code com.example.sodoku:type=Solver,name=<engine>}.
+ */
+public interface SolverMXBean {
+
+    /**
+     * Returns the number of solves run.
+     *
+     * @return The number of solves.
+     */
+    long getSolves();
+
+    /**
+     * Returns the number of solves that found no solution.
+     *
+     * @return The number of failed solves.
+     */
+    long getFailures();
+
+    /**
+     * Returns the mean wall time of a solve.
+     *
+     * @return The mean solve time in microseconds.
+     */
+    double getMeanSolveMicros();
+
+    /**
+     * Returns the number of search decisions taken by all solves.
+     *
+     * @return The total number of search nodes.
+     */
+    long getNodes();
+
+    /**
+     * Returns the number of search decisions that had to be undone by all solves.
+     *
+     * @return The total number of backtracks.
+     */
+    long getBacktracks();
+
+    /**
+     * Returns the deepest search stack reached by any solve.
+     *
+     * @return The maximum search depth.
+     */
+    long getMaxDepth();
+
+    /**
+     * Clears every counter.
+     */
+    void reset();
+}
@@ -0,0 +1,90 @@
+package com.example.sodoku.telemetry;
+
+import com.example.sodoku.models.SolverType;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Switch and registry of the solver and generator instrumentation. Instrumentation is enabled with
+ * {@code -Dsodoku.telemetry=true}; the switch is a constant read once at class initialization, so
+ * when it is off the JIT removes the instrumented branches and solving runs exactly as uninstrumented
+ * code. When it is on, every solve and generation of a board updates contention-free counters,
+ * published through the platform MBean server under the {@code com.example.sodoku} domain, and emits a
+ * {@link SolveEvent} or {@link GenerationEvent} that Flight Recorder captures when a recording is running.
+ */
+public final class Telemetry {
+
+    /**
+     * Whether instrumentation is on, from the {@code sodoku.telemetry} system property.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("sodoku.telemetry");
+
+    private static final String DOMAIN = "com.example.sodoku";
+    private static final SolverCounters[] SOLVERS = new SolverCounters[SolverType.values().length];
+    private static final GeneratorCounters GENERATOR = new GeneratorCounters();
+
+    static {
+        for (SolverType type : SolverType.values()) {
+            SOLVERS[type.ordinal()] = new SolverCounters();
+        }
+        if (ENABLED) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                for (SolverType type : SolverType.values()) {
+                    server.registerMBean(SOLVERS[type.ordinal()],
+                            new ObjectName(DOMAIN + ":type=Solver,name=" + type.name()));
+                }
+                server.registerMBean(GENERATOR, new ObjectName(DOMAIN + ":type=Generator"));
+            } catch (JMException e) {
+                System.err.println("Could not register the Sudoku MBeans: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Prevents instantiation; every member is static.
+     */
+    private Telemetry() {
+    }
+
+    /**
+     * Returns the counters of a solver engine.
+     *
+     * @param type The solver engine.
+     * @return The counters of the engine.
+     */
+    public static SolverMXBean solver(SolverType type) {
+        return SOLVERS[type.ordinal()];
+    }
+
+    /**
+     * Returns the generator counters.
+     *
+     * @return The counters of puzzle generation.
+     */
+    public static GeneratorMXBean generator() {
+        return GENERATOR;
+    }
+
+    /**
+     * Returns the counters a solve event adds to.
+     *
+     * @param type The solver engine.
+     * @return The counters of the engine.
+     */
+    static SolverCounters solverCounters(SolverType type) {
+        return SOLVERS[type.ordinal()];
+    }
+
+    /**
+     * Returns the counters a generation event adds to.
+     *
+     * @return The counters of puzzle generation.
+     */
+    static GeneratorCounters generatorCounters() {
+        return GENERATOR;
+    }
+}
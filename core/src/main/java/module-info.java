@@ -0,0 +1,12 @@
+module com.example.sodoku.core {
+    requires java.management;
+    requires transitive jdk.jfr;
+
+    exports com.example.sodoku.bank;
+    exports com.example.sodoku.batch;
+    exports com.example.sodoku.interfaces;
+    exports com.example.sodoku.models;
+    exports com.example.sodoku.pool;
+    exports com.example.sodoku.session;
+    exports com.example.sodoku.telemetry;
+}
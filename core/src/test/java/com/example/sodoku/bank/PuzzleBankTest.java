@@ -0,0 +1,136 @@
+package com.example.sodoku.bank;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.BoardModel;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.FillMode;
+import com.example.sodoku.models.Puzzle;
+import com.example.sodoku.models.PuzzleCodec;
+import com.example.sodoku.models.SolverType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PuzzleBankTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeThenMapReturnsEveryRecord() throws IOException {
+        for (BoardGeometry geometry : new BoardGeometry[] {BoardGeometry.SIX, BoardGeometry.NINE,
+                BoardGeometry.TWENTY_FIVE}) {
+            assertRoundTrip(geometry);
+        }
+    }
+
+    /**
+     * Writes a few puzzles of a geometry to a bank, maps it and checks every record and puzzle.
+     *
+     * @param geometry The shape of the puzzles.
+     * @throws IOException if the bank cannot be written or read.
+     */
+    private void assertRoundTrip(BoardGeometry geometry) throws IOException {
+        Path file = directory.resolve("bank-" + geometry.getSize());
+        Puzzle[] puzzles = generate(geometry, 4);
+        long[][] records = new long[puzzles.length][];
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(file, geometry, Difficulty.HARD)) {
+            PuzzleCodec codec = writer.getCodec();
+            int recordLongs = codec.getRecordLongs();
+            long[] batch = new long[2 * recordLongs];
+            for (int i = 0; i < puzzles.length; i += 2) {
+                for (int j = 0; j < 2; j++) {
+                    records[i + j] = codec.encode(puzzles[i + j]);
+                    System.arraycopy(records[i + j], 0, batch, j * recordLongs, recordLongs);
+                }
+                writer.append(batch, 2);
+            }
+        }
+
+        try (PuzzleBank bank = new PuzzleBank(file)) {
+            assertEquals(puzzles.length, bank.size());
+            assertEquals(geometry, bank.getGeometry());
+            assertEquals(Difficulty.HARD, bank.getDifficulty());
+            int recordLongs = bank.getCodec().getRecordLongs();
+            long[] record = new long[recordLongs + 1];
+            for (int i = 0; i < puzzles.length; i++) {
+                bank.readRecord(i, record, 1);
+                for (int k = 0; k < recordLongs; k++) {
+                    assertEquals(records[i][k], record[k + 1]);
+                }
+                Puzzle read = bank.get(i);
+                assertArrayEquals(puzzles[i].getClues(), read.getClues());
+                assertArrayEquals(puzzles[i].getSolution(), read.getSolution());
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> bank.readRecord(puzzles.length, record, 0));
+        }
+    }
+
+    @Test
+    void corruptHeadersAreRejectedWithIOException() throws IOException {
+        Path file = directory.resolve("bank");
+        try (PuzzleBankWriter writer = new PuzzleBankWriter(file, BoardGeometry.SIX, Difficulty.EASY)) {
+            writer.append(writer.getCodec().encode(generate(BoardGeometry.SIX, 1)[0]), 1);
+        }
+        byte[] valid = Files.readAllBytes(file);
+
+        assertRejected(file, valid, 16, 7);
+        assertRejected(file, valid, 16, -1);
+        assertRejected(file, valid, 8, 0);
+        assertRejected(file, valid, 12, 31);
+        assertRejected(file, valid, 0, 0x12345678);
+        assertRejected(file, valid, PuzzleBank.COUNT_OFFSET, 2);
+
+        Files.write(file, new byte[] {1, 2, 3});
+        assertThrows(IOException.class, () -> new PuzzleBank(file));
+    }
+
+    /**
+     * Writes a copy of a valid bank with one header {@code int} replaced and checks that it cannot be opened.
+     *
+     * @param file The file to write.
+     * @param valid The bytes of a valid bank.
+     * @param offset The offset of the header {@code int} to replace.
+     * @param value The value written there.
+     * @throws IOException if the file cannot be written.
+     */
+    private static void assertRejected(Path file, byte[] valid, int offset, int value) throws IOException {
+        ByteBuffer corrupt = ByteBuffer.wrap(valid.clone()).order(ByteOrder.LITTLE_ENDIAN);
+        corrupt.putInt(offset, value);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(corrupt);
+        }
+        assertThrows(IOException.class, () -> new PuzzleBank(file));
+    }
+
+    /**
+     * Generates puzzles of a geometry from a fixed seed.
+     *
+     * @param geometry The shape of the puzzles.
+     * @param count The number of puzzles.
+     * @return The puzzles.
+     */
+    private static Puzzle[] generate(BoardGeometry geometry, int count) {
+        BoardModel board = new BoardModel(geometry, SolverType.PROPAGATION, Difficulty.HARD, FillMode.TRANSFORM,
+                new SplittableRandom(geometry.getSize()));
+        Puzzle[] puzzles = new Puzzle[count];
+        for (int i = 0; i < count; i++) {
+            puzzles[i] = Puzzle.copyOf(board, Difficulty.HARD);
+            board.regenerate();
+        }
+        return puzzles;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.sodoku.batch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLongSetTest {
+
+    @Test
+    void addReturnsFalseForDuplicates() {
+        ConcurrentLongSet set = new ConcurrentLongSet(16);
+        assertTrue(set.add(42));
+        assertFalse(set.add(42));
+        assertTrue(set.add(-42));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(Long.MIN_VALUE));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void zeroIsStoredAsOne() {
+        ConcurrentLongSet set = new ConcurrentLongSet(4);
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertFalse(set.add(1));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void fullSetThrows() {
+        ConcurrentLongSet set = new ConcurrentLongSet(1);
+        assertTrue(set.add(10));
+        assertTrue(set.add(11));
+        assertFalse(set.add(10));
+        assertThrows(IllegalStateException.class, () -> set.add(12));
+    }
+
+    @Test
+    void concurrentAddsClaimEveryKeyOnce() throws Exception {
+        int threads = 4;
+        int keys = 20_000;
+        ConcurrentLongSet set = new ConcurrentLongSet(keys);
+        List<Callable<Integer>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(() -> {
+                int added = 0;
+                for (long key = 0; key < keys; key++) {
+                    if (set.add(key * 0x9E3779B97F4A7C15L)) {
+                        added++;
+                    }
+                }
+                return added;
+            });
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            int added = 0;
+            for (Future<Integer> result : pool.invokeAll(workers)) {
+                added += result.get();
+            }
+            assertEquals(keys, added);
+            assertEquals(keys, set.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.sodoku.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardModelTest {
+
+    @Test
+    void levelsEmptyTheirTargetOnNineByNine() {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(40, emptied(BoardGeometry.NINE, Difficulty.EASY, i));
+            assertEquals(54, emptied(BoardGeometry.NINE, Difficulty.MEDIUM, i));
+            assertTrue(emptied(BoardGeometry.NINE, Difficulty.HARD, i) > 54);
+        }
+    }
+
+    @Test
+    void levelsStillDifferOnSixteenBySixteen() {
+        for (int i = 0; i < 3; i++) {
+            int hard = emptied(BoardGeometry.SIXTEEN, Difficulty.HARD, i);
+            int medium = emptied(BoardGeometry.SIXTEEN, Difficulty.MEDIUM, i);
+            assertEquals(128, emptied(BoardGeometry.SIXTEEN, Difficulty.EASY, i));
+            assertTrue(hard < Difficulty.MEDIUM.removalTarget(256), "HARD emptied " + hard);
+            assertEquals(Difficulty.MEDIUM.emptiedCount(256, hard), medium);
+            assertTrue(medium > 128 && medium < hard, "MEDIUM emptied " + medium + ", HARD " + hard);
+        }
+    }
+
+    @Test
+    void emptiedCountSettlesBetweenLevels() {
+        assertEquals(40, Difficulty.EASY.emptiedCount(81, 57));
+        assertEquals(54, Difficulty.MEDIUM.emptiedCount(81, 57));
+        assertEquals(57, Difficulty.HARD.emptiedCount(81, 57));
+        assertEquals(128, Difficulty.EASY.emptiedCount(256, 160));
+        assertEquals(144, Difficulty.MEDIUM.emptiedCount(256, 160));
+        assertEquals(160, Difficulty.HARD.emptiedCount(256, 160));
+        assertEquals(50, Difficulty.EASY.emptiedCount(256, 100));
+        assertEquals(75, Difficulty.MEDIUM.emptiedCount(256, 100));
+    }
+
+    /**
+     * Generates a puzzle and checks that it is unique and agrees with its solution.
+     *
+     * @param geometry The shape of the board.
+     * @param difficulty The level of the puzzle.
+     * @param seed The seed of the board's generator.
+     * @return The number of empty cells of the puzzle.
+     */
+    private static int emptied(BoardGeometry geometry, Difficulty difficulty, long seed) {
+        BoardModel board = new BoardModel(geometry, SolverType.PROPAGATION, difficulty, FillMode.TRANSFORM,
+                new SplittableRandom(seed));
+        int[][] clues = board.getSudoku();
+        int[][] solution = board.getBoardFull();
+        int empty = 0;
+        for (int row = 0; row < clues.length; row++) {
+            for (int col = 0; col < clues.length; col++) {
+                if (clues[row][col] == 0) {
+                    empty++;
+                } else {
+                    assertEquals(solution[row][col], clues[row][col]);
+                }
+            }
+        }
+        PropagationSolver solver = new PropagationSolver(geometry, new SplittableRandom(seed));
+        assertEquals(1, solver.countSolutions(clues, 2));
+        return empty;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.sodoku.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GridCanonicalizerTest {
+
+    @Test
+    void hashesAreInvariantUnderSymmetries() {
+        SplittableRandom random = new SplittableRandom(23);
+        for (BoardGeometry geometry : new BoardGeometry[] {BoardGeometry.FOUR, BoardGeometry.SIX,
+                BoardGeometry.of(3, 2), BoardGeometry.NINE, BoardGeometry.TWELVE}) {
+            GridCanonicalizer canonicalizer = new GridCanonicalizer(geometry);
+            BoardModel board = new BoardModel(geometry, SolverType.PROPAGATION, Difficulty.MEDIUM,
+                    new SplittableRandom(geometry.getSize()));
+            int trials = geometry.getSize() > 9 ? 2 : 10;
+            for (int trial = 0; trial < trials; trial++) {
+                int[][] clues = board.getSudoku();
+                int[][] solution = board.getBoardFull();
+                long gridHash = canonicalizer.gridHash(solution);
+                long puzzleHash = canonicalizer.puzzleHash(clues, solution);
+                int[][] canonical = canonicalizer.canonicalGrid(solution);
+                for (int k = 0; k < 5; k++) {
+                    Symmetry symmetry = new Symmetry(geometry, random);
+                    int[][] movedSolution = symmetry.apply(solution);
+                    int[][] movedClues = symmetry.apply(clues);
+                    assertEquals(gridHash, canonicalizer.gridHash(movedSolution), geometry + " grid");
+                    assertEquals(puzzleHash, canonicalizer.puzzleHash(movedClues, movedSolution), geometry + " puzzle");
+                    assertArrayEquals(canonical, canonicalizer.canonicalGrid(movedSolution));
+                }
+                board.regenerate();
+            }
+        }
+    }
+
+    @Test
+    void puzzleHashDependsOnTheClues() {
+        BoardModel board = new BoardModel(BoardGeometry.NINE, SolverType.PROPAGATION, Difficulty.MEDIUM,
+                new SplittableRandom(5));
+        GridCanonicalizer canonicalizer = new GridCanonicalizer(BoardGeometry.NINE);
+        int[][] clues = board.copySudoku(board.getSudoku());
+        int[][] solution = board.getBoardFull();
+        long before = canonicalizer.puzzleHash(clues, solution);
+        for (int cell = 0; cell < 81; cell++) {
+            if (clues[cell / 9][cell % 9] != 0) {
+                clues[cell / 9][cell % 9] = 0;
+                break;
+            }
+        }
+        assertNotEquals(before, canonicalizer.puzzleHash(clues, solution));
+    }
+
+    @Test
+    void fourByFourHasTwoGridClasses() {
+        SolutionIndex index = SolutionIndex.of(BoardGeometry.FOUR);
+        GridCanonicalizer canonicalizer = new GridCanonicalizer(BoardGeometry.FOUR);
+        int[][] grid = new int[4][4];
+        Set<Long> classes = new HashSet<>();
+        for (int rank = 0; rank < index.size(); rank++) {
+            index.unrank(rank, grid);
+            classes.add(canonicalizer.gridHash(grid));
+        }
+        assertEquals(288, index.size());
+        assertEquals(2, classes.size());
+    }
+
+    @Test
+    void supportsBoardsUpToTwelve() {
+        assertTrue(GridCanonicalizer.supports(BoardGeometry.TWELVE));
+        assertFalse(GridCanonicalizer.supports(BoardGeometry.SIXTEEN));
+    }
+
+    /**
+     * A random Sudoku symmetry: a digit relabeling, an order of the bands and of the rows in each band,
+     * an order of the stacks and of the columns in each stack and, on square blocks, a transposition.
+     */
+    private static final class Symmetry {
+
+        private final int size;
+        private final int[] digits;
+        private final int[] rows;
+        private final int[] cols;
+        private final boolean transpose;
+
+        /**
+         * Draws a symmetry of a geometry.
+         *
+         * @param geometry The shape of the boards.
+         * @param random The generator to draw from.
+         */
+        Symmetry(BoardGeometry geometry, SplittableRandom random) {
+            this.size = geometry.getSize();
+            this.digits = new int[size + 1];
+            int[] labels = permutation(size, random);
+            for (int digit = 1; digit <= size; digit++) {
+                digits[digit] = labels[digit - 1] + 1;
+            }
+            this.rows = lines(geometry.getBlockRows(), size / geometry.getBlockRows(), random);
+            this.cols = lines(geometry.getBlockCols(), size / geometry.getBlockCols(), random);
+            this.transpose = geometry.getBlockRows() == geometry.getBlockCols() && random.nextBoolean();
+        }
+
+        /**
+         * Applies the symmetry to a board, keeping empty cells empty.
+         *
+         * @param board The board.
+         * @return The moved board.
+         */
+        int[][] apply(int[][] board) {
+            int[][] moved = new int[size][size];
+            for (int i = 0; i < size; i++) {
+                for (int j = 0; j < size; j++) {
+                    int value = transpose ? board[cols[j]][rows[i]] : board[rows[i]][cols[j]];
+                    moved[i][j] = digits[value];
+                }
+            }
+            return moved;
+        }
+
+        /**
+         * Draws an order of the lines that keeps every band or stack together.
+         *
+         * @param span The number of lines in a band or stack.
+         * @param groups The number of bands or stacks.
+         * @param random The generator to draw from.
+         * @return The source line of every line.
+         */
+        private static int[] lines(int span, int groups, SplittableRandom random) {
+            int[] groupOrder = permutation(groups, random);
+            int[] order = new int[span * groups];
+            for (int group = 0; group < groups; group++) {
+                int[] inside = permutation(span, random);
+                for (int k = 0; k < span; k++) {
+                    order[group * span + k] = groupOrder[group] * span + inside[k];
+                }
+            }
+            return order;
+        }
+
+        /**
+         * Draws a random permutation of {@code 0 .. n - 1}.
+         *
+         * @param n The length.
+         * @param random The generator to draw from.
+         * @return The permutation.
+         */
+        private static int[] permutation(int n, SplittableRandom random) {
+            int[] permutation = new int[n];
+            for (int i = 0; i < n; i++) {
+                permutation[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int temp = permutation[i];
+                permutation[i] = permutation[j];
+                permutation[j] = temp;
+            }
+            return permutation;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.sodoku.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HintEngineTest {
+
+    private static final String NAKED_SINGLE =
+            "6.41...5..138.6.2...29..61.1..638.7.736.1...5......136..1...5..3..2.47.1467..1...";
+    private static final String HIDDEN_SINGLE =
+            "..4.........8.6.2...29..6..1...38...7.6.1...5.......36......5..3....47.146...1...";
+    private static final String POINTING_PAIR =
+            "6.41...5..138.6.2...29..61.1..638.7.736.1...5......136..1...5..3....47.1467..1...";
+    private static final String BOX_LINE_REDUCTION =
+            "389.4716.5126398747641..3..2769154834317..9..9583246178234.17.6.9...3.4..4.....3.";
+    private static final String NAKED_PAIR =
+            ".......29....43.5...6.92.83...329.4543...697.9...8.36..14...5..57..3..16.....5..4";
+
+    @Test
+    void eachTechniqueIsFoundOnAKnownPosition() {
+        assertHint(NAKED_SINGLE, Technique.NAKED_SINGLE, 4, 3);
+        assertHint(HIDDEN_SINGLE, Technique.HIDDEN_SINGLE, 0, 0);
+        assertHint(POINTING_PAIR, Technique.POINTING_PAIR, 7, 3);
+        assertHint(BOX_LINE_REDUCTION, Technique.BOX_LINE_REDUCTION, 6, 7);
+        assertHint(NAKED_PAIR, Technique.NAKED_PAIR, 6, 4);
+    }
+
+    @Test
+    void hintsSolveGeneratedPuzzles() {
+        for (BoardGeometry geometry : new BoardGeometry[] {BoardGeometry.SIX, BoardGeometry.NINE}) {
+            BoardModel board = new BoardModel(geometry, SolverType.PROPAGATION, Difficulty.MEDIUM, FillMode.TRANSFORM,
+                    new SplittableRandom(4));
+            for (int i = 0; i < 5; i++) {
+                int[][] solution = board.getBoardFull();
+                HintEngine engine = new HintEngine(geometry);
+                engine.load(board.getSudoku());
+                Hint hint;
+                while ((hint = engine.next()) != null) {
+                    assertEquals(solution[hint.getRow()][hint.getCol()], hint.getValue());
+                    engine.place(hint.getRow(), hint.getCol(), hint.getValue());
+                }
+                board.regenerate();
+            }
+        }
+    }
+
+    @Test
+    void undoPlaceRestoresTheCandidatesBeforeThePlacement() {
+        HintEngine engine = new HintEngine(BoardGeometry.NINE);
+        engine.load(parse(POINTING_PAIR));
+        assertFalse(engine.undoPlace());
+        assertEquals(-1, engine.getLastPlacedCell());
+        int empty = engine.getEmptyCount();
+
+        Hint pointing = engine.next();
+        engine.place(pointing.getRow(), pointing.getCol(), pointing.getValue());
+        Hint following = engine.next();
+        assertNotNull(following);
+        engine.place(following.getRow(), following.getCol(), following.getValue());
+        assertEquals(following.getRow() * 9 + following.getCol(), engine.getLastPlacedCell());
+
+        assertTrue(engine.undoPlace());
+        assertEquals(0, engine.getValue(following.getRow(), following.getCol()));
+        assertTrue(engine.undoPlace());
+        assertEquals(0, engine.getValue(pointing.getRow(), pointing.getCol()));
+        assertEquals(empty, engine.getEmptyCount());
+        assertFalse(engine.undoPlace());
+        Hint again = engine.next();
+        assertEquals(pointing.getRow(), again.getRow());
+        assertEquals(pointing.getCol(), again.getCol());
+        assertEquals(pointing.getValue(), again.getValue());
+    }
+
+    @Test
+    void undoPlaceClearsAContradiction() {
+        HintEngine engine = new HintEngine(BoardGeometry.NINE);
+        engine.load(parse(NAKED_SINGLE));
+        Hint expected = engine.next();
+        engine.place(0, 1, 6);
+        assertNull(engine.next());
+
+        assertTrue(engine.undoPlace());
+        assertSameHint(expected, engine.next());
+    }
+
+    /**
+     * Checks the next hint of a fresh engine on a position.
+     *
+     * @param position The board, row by row, with '.' for an empty cell.
+     * @param technique The technique the hint must need.
+     * @param row The row of the hinted cell.
+     * @param col The column of the hinted cell.
+     */
+    private static void assertHint(String position, Technique technique, int row, int col) {
+        int[][] board = parse(position);
+        int[][] solution = parse(position);
+        PropagationSolver solver = new PropagationSolver(BoardGeometry.NINE, new SplittableRandom(1));
+        assertEquals(1, solver.countSolutions(board, 2));
+        assertTrue(solver.solve(solution));
+
+        HintEngine engine = new HintEngine(BoardGeometry.NINE);
+        engine.load(board);
+        Hint hint = engine.next();
+        assertNotNull(hint);
+        assertEquals(technique, hint.getTechnique());
+        assertEquals(row, hint.getRow());
+        assertEquals(col, hint.getCol());
+        assertEquals(solution[row][col], hint.getValue());
+        assertEquals(0, engine.getValue(row, col));
+    }
+
+    /**
+     * Checks that two hints place the same digit in the same cell with the same technique.
+     *
+     * @param expected The expected hint.
+     * @param actual The hint to check.
+     */
+    private static void assertSameHint(Hint expected, Hint actual) {
+        assertNotNull(actual);
+        assertEquals(expected.getRow(), actual.getRow());
+        assertEquals(expected.getCol(), actual.getCol());
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getTechnique(), actual.getTechnique());
+    }
+
+    /**
+     * Reads a 9x9 board written row by row.
+     *
+     * @param position The 81 cells, with '.' for an empty cell.
+     * @return The board, with 0 in the empty cells.
+     */
+    private static int[][] parse(String position) {
+        int[][] board = new int[9][9];
+        for (int cell = 0; cell < 81; cell++) {
+            char c = position.charAt(cell);
+            board[cell / 9][cell % 9] = c == '.' ? 0 : c - '0';
+        }
+        return board;
+    }
+}
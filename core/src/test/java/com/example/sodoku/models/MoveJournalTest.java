@@ -0,0 +1,206 @@
+package com.example.sodoku.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MoveJournalTest {
+
+    @Test
+    void packedMovesKeepEveryField() {
+        int move = MoveJournal.pack(624, 25, 17, true, false);
+        assertEquals(624, MoveJournal.cell(move));
+        assertEquals(25, MoveJournal.oldValue(move));
+        assertEquals(17, MoveJournal.newValue(move));
+        assertTrue(MoveJournal.wasHinted(move));
+        assertFalse(MoveJournal.isHinted(move));
+        assertEquals(MoveJournal.pack(3, 0, 4), MoveJournal.pack(3, 0, 4, false, false));
+        assertTrue(MoveJournal.isHinted(MoveJournal.pack(3, 0, 4, false, true)));
+    }
+
+    @Test
+    void fullRingForgetsTheOldestMoves() {
+        MoveJournal journal = new MoveJournal(4);
+        for (int cell = 0; cell < 6; cell++) {
+            journal.record(cell, 0, cell + 1);
+        }
+        for (int cell = 5; cell >= 2; cell--) {
+            assertEquals(MoveJournal.pack(cell, 0, cell + 1), journal.undo());
+        }
+        assertFalse(journal.canUndo());
+        assertEquals(MoveJournal.NONE, journal.undo());
+        for (int cell = 2; cell < 6; cell++) {
+            assertEquals(MoveJournal.pack(cell, 0, cell + 1), journal.redo());
+        }
+        assertEquals(MoveJournal.NONE, journal.redo());
+    }
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        MoveJournal journal = new MoveJournal(5);
+        for (int cell = 0; cell < 9; cell++) {
+            journal.record(cell, 0, 1);
+        }
+        int undone = 0;
+        while (journal.undo() != MoveJournal.NONE) {
+            undone++;
+        }
+        assertEquals(8, undone);
+    }
+
+    @Test
+    void newMoveCutsOffTheRedoneMoves() {
+        MoveJournal journal = new MoveJournal();
+        journal.record(0, 0, 1);
+        journal.record(1, 0, 2);
+        journal.record(2, 0, 3);
+        journal.undo();
+        journal.undo();
+        assertTrue(journal.canRedo());
+
+        journal.record(5, 0, 6);
+        assertFalse(journal.canRedo());
+        assertEquals(MoveJournal.NONE, journal.redo());
+        assertEquals(MoveJournal.pack(5, 0, 6), journal.undo());
+        assertEquals(MoveJournal.pack(0, 0, 1), journal.undo());
+        assertEquals(MoveJournal.NONE, journal.undo());
+    }
+
+    @Test
+    void snapshotsOnADiscardedBranchOrPastTheRingAreInvalid() {
+        MoveJournal journal = new MoveJournal(4);
+        long start = journal.snapshot();
+        journal.record(0, 0, 1);
+        journal.record(1, 0, 2);
+        long discarded = journal.snapshot();
+        journal.undo();
+        long kept = journal.snapshot();
+        journal.record(2, 0, 3);
+
+        assertTrue(journal.isValid(start));
+        assertTrue(journal.isValid(kept));
+        assertFalse(journal.isValid(discarded));
+        assertEquals(-1, journal.distanceTo(kept));
+
+        for (int cell = 3; cell < 7; cell++) {
+            journal.record(cell, 0, 1);
+        }
+        assertFalse(journal.isValid(start));
+        assertFalse(journal.isValid(kept));
+    }
+
+    @Test
+    void restoreReturnsToASnapshotAndRefusesUnreachableOnes() {
+        SudokuGame game = newGame();
+        int[] empty = emptyCells(game, 3);
+        int[][] solution = game.getPuzzle().getSolution();
+        int size = game.getGeometry().getSize();
+
+        long start = game.snapshot();
+        place(game, empty[0], solution);
+        place(game, empty[1], solution);
+        long twoMoves = game.snapshot();
+        int[][] afterTwo = copy(game.getMatrix());
+
+        assertTrue(game.restore(start));
+        assertArrayEquals(newGame().getMatrix(), game.getMatrix());
+        assertTrue(game.restore(twoMoves));
+        assertArrayEquals(afterTwo, game.getMatrix());
+
+        game.undo();
+        place(game, empty[2], solution);
+        int[][] branched = copy(game.getMatrix());
+        assertFalse(game.restore(twoMoves));
+        assertArrayEquals(branched, game.getMatrix());
+        assertEquals(0, game.getMatrix()[empty[1] / size][empty[1] % size]);
+    }
+
+    @Test
+    void undoAndRedoKeepTrackOfHintedValues() {
+        SudokuGame game = newGame();
+        int cell = emptyCells(game, 1)[0];
+        int size = game.getGeometry().getSize();
+        int row = cell / size;
+        int col = cell % size;
+        int digit = game.getPuzzle().getSolution()[row][col];
+
+        game.setValue(digit, row, col, true);
+        assertTrue(game.isHinted(row, col));
+        game.setValue(digit, row, col);
+        assertFalse(game.isHinted(row, col));
+
+        game.undo();
+        assertTrue(game.isHinted(row, col));
+        assertEquals(digit, game.getMatrix()[row][col]);
+        game.undo();
+        assertFalse(game.isHinted(row, col));
+        assertEquals(0, game.getMatrix()[row][col]);
+        game.redo();
+        assertTrue(game.isHinted(row, col));
+        game.redo();
+        assertFalse(game.isHinted(row, col));
+
+        game.setValue(digit, row, col, true);
+        game.clearValue(row, col);
+        game.undo();
+        assertTrue(game.isHinted(row, col));
+    }
+
+    /**
+     * Starts a game on the puzzle of a fixed ID.
+     *
+     * @return The new game.
+     */
+    private static SudokuGame newGame() {
+        return new SudokuGame(PuzzleId.generate(
+                PuzzleId.of(BoardGeometry.SIX, SolverType.PROPAGATION, Difficulty.MEDIUM, 5)));
+    }
+
+    /**
+     * Returns the first empty cells of a game.
+     *
+     * @param game The game.
+     * @param count The number of cells wanted.
+     * @return The indexes of the cells.
+     */
+    private static int[] emptyCells(SudokuGame game, int count) {
+        int size = game.getGeometry().getSize();
+        int[] cells = new int[count];
+        int found = 0;
+        for (int cell = 0; found < count; cell++) {
+            if (game.getMatrix()[cell / size][cell % size] == 0) {
+                cells[found++] = cell;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Places the digit of the solution in a cell.
+     *
+     * @param game The game.
+     * @param cell The cell index.
+     * @param solution The solution of the puzzle.
+     */
+    private static void place(SudokuGame game, int cell, int[][] solution) {
+        int size = game.getGeometry().getSize();
+        game.setValue(solution[cell / size][cell % size], cell / size, cell % size);
+    }
+
+    /**
+     * Copies a board.
+     *
+     * @param matrix The board.
+     * @return A copy of every row.
+     */
+    private static int[][] copy(int[][] matrix) {
+        int[][] copy = new int[matrix.length][];
+        for (int row = 0; row < matrix.length; row++) {
+            copy[row] = matrix[row].clone();
+        }
+        return copy;
+    }
+}
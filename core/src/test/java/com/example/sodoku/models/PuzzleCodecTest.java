@@ -0,0 +1,50 @@
+package com.example.sodoku.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PuzzleCodecTest {
+
+    @Test
+    void encodeThenDecodeReturnsThePuzzle() {
+        for (BoardGeometry geometry : new BoardGeometry[] {BoardGeometry.SIX, BoardGeometry.NINE,
+                BoardGeometry.TWENTY_FIVE}) {
+            assertRoundTrip(geometry);
+        }
+    }
+
+    /**
+     * Encodes and decodes a few puzzles of a geometry, at offset 0 and inside a larger array.
+     *
+     * @param geometry The shape of the puzzles.
+     */
+    private static void assertRoundTrip(BoardGeometry geometry) {
+        PuzzleCodec codec = new PuzzleCodec(geometry);
+        BoardModel board = new BoardModel(geometry, SolverType.PROPAGATION, Difficulty.EASY, FillMode.TRANSFORM,
+                new SplittableRandom(geometry.getSize()));
+        for (int i = 0; i < 3; i++) {
+            Puzzle puzzle = Puzzle.copyOf(board, Difficulty.EASY);
+            long[] record = codec.encode(puzzle);
+            assertEquals(codec.getRecordLongs(), record.length);
+
+            Puzzle decoded = codec.decode(geometry, Difficulty.EASY, record, 0);
+            assertArrayEquals(puzzle.getClues(), decoded.getClues());
+            assertArrayEquals(puzzle.getSolution(), decoded.getSolution());
+
+            long[] shifted = new long[record.length + 3];
+            codec.encode(puzzle.getClues(), puzzle.getSolution(), shifted, 2);
+            int size = geometry.getSize();
+            int[][] clues = new int[size][size];
+            int[][] solution = new int[size][size];
+            codec.decode(shifted, 2, clues, solution);
+            assertArrayEquals(puzzle.getClues(), clues);
+            assertArrayEquals(puzzle.getSolution(), solution);
+
+            board.regenerate();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.sodoku.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolutionIndexTest {
+
+    @Test
+    void countsMatchTheKnownNumbersOfGrids() {
+        assertEquals(288, SolutionIndex.of(BoardGeometry.FOUR).size());
+        assertEquals(28_200_960, SolutionIndex.of(BoardGeometry.SIX).size());
+        assertEquals(28_200_960, SolutionIndex.of(BoardGeometry.of(3, 2)).size());
+    }
+
+    @Test
+    void rankOfUnrankIsTheRank() {
+        SplittableRandom random = new SplittableRandom(25);
+        for (BoardGeometry geometry : new BoardGeometry[] {BoardGeometry.FOUR, BoardGeometry.SIX,
+                BoardGeometry.of(3, 2)}) {
+            SolutionIndex index = SolutionIndex.of(geometry);
+            int size = geometry.getSize();
+            int[][] grid = new int[size][size];
+            int[] ranks = new int[1000];
+            ranks[1] = index.size() - 1;
+            for (int i = 2; i < ranks.length; i++) {
+                ranks[i] = index.randomRank(random);
+            }
+            for (int rank : ranks) {
+                index.unrank(rank, grid);
+                assertTrue(isSolution(grid, geometry), geometry + " rank " + rank);
+                assertEquals(rank, index.rank(grid));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> index.unrank(index.size(), grid));
+            assertThrows(IndexOutOfBoundsException.class, () -> index.unrank(-1, grid));
+        }
+    }
+
+    @Test
+    void searchedGridsAreIndexed() {
+        SolutionIndex index = SolutionIndex.of(BoardGeometry.SIX);
+        BoardModel board = new BoardModel(BoardGeometry.SIX, SolverType.BACKTRACKING, Difficulty.EASY,
+                new SplittableRandom(6));
+        for (int i = 0; i < 50; i++) {
+            assertTrue(index.isValid(board.getBoardFull()));
+            board.regenerate();
+        }
+    }
+
+    @Test
+    void isValidRejectsInvalidGrids() {
+        SolutionIndex index = SolutionIndex.of(BoardGeometry.SIX);
+        int[][] grid = new int[6][6];
+        index.unrank(12_345_678, grid);
+
+        int[][] swapped = copy(grid);
+        int temp = swapped[4][0];
+        swapped[4][0] = swapped[4][5];
+        swapped[4][5] = temp;
+        assertFalse(index.isValid(swapped));
+        assertEquals(-1, index.rank(swapped));
+
+        int[][] repeated = copy(grid);
+        repeated[2][3] = repeated[2][4];
+        assertFalse(index.isValid(repeated));
+
+        int[][] badFirstRow = copy(grid);
+        badFirstRow[0][0] = badFirstRow[0][1];
+        assertFalse(index.isValid(badFirstRow));
+
+        int[][] empty = copy(grid);
+        empty[5][5] = 0;
+        assertFalse(index.isValid(empty));
+
+        int[][] outOfRange = copy(grid);
+        outOfRange[3][1] = 7;
+        assertFalse(index.isValid(outOfRange));
+
+        int[][] latin = new int[6][6];
+        for (int row = 0; row < 6; row++) {
+            for (int col = 0; col < 6; col++) {
+                latin[row][col] = (row + col) % 6 + 1;
+            }
+        }
+        assertFalse(index.isValid(latin));
+    }
+
+    @Test
+    void uniformFillIsReproducibleFromTheId() {
+        long id = PuzzleId.of(BoardGeometry.SIX, SolverType.PROPAGATION, Difficulty.MEDIUM, FillMode.UNIFORM, 77);
+        Puzzle first = PuzzleId.generate(id);
+        Puzzle second = PuzzleId.generate(id);
+        assertEquals(FillMode.UNIFORM, PuzzleId.fillMode(id));
+        assertArrayEquals(first.getSolution(), second.getSolution());
+        assertArrayEquals(first.getClues(), second.getClues());
+        assertTrue(SolutionIndex.of(BoardGeometry.SIX).isValid(first.getSolution()));
+        assertThrows(IllegalArgumentException.class, () -> new BoardModel(BoardGeometry.NINE,
+                SolverType.PROPAGATION, Difficulty.MEDIUM, FillMode.UNIFORM, new SplittableRandom()));
+    }
+
+    /**
+     * Checks every row, column and block of a grid.
+     *
+     * @param grid The grid.
+     * @param geometry The shape of the grid.
+     * @return true if every unit holds each digit once.
+     */
+    private static boolean isSolution(int[][] grid, BoardGeometry geometry) {
+        BitBoard bitBoard = new BitBoard(geometry);
+        int size = geometry.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (!bitBoard.canPlace(row, col, grid[row][col])) {
+                    return false;
+                }
+                bitBoard.place(row, col, grid[row][col]);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies a grid.
+     *
+     * @param grid The grid.
+     * @return A copy that shares no rows with the grid.
+     */
+    private static int[][] copy(int[][] grid) {
+        int[][] copy = new int[grid.length][];
+        for (int row = 0; row < grid.length; row++) {
+            copy[row] = grid[row].clone();
+        }
+        return copy;
+    }
+}
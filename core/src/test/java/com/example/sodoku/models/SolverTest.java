@@ -0,0 +1,111 @@
+package com.example.sodoku.models;
+
+import com.example.sodoku.interfaces.ISolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SolverTest {
+
+    private static final BoardGeometry[] GEOMETRIES = {
+            BoardGeometry.FOUR, BoardGeometry.SIX, BoardGeometry.NINE, BoardGeometry.TWELVE};
+
+    @Test
+    void everyEngineSolvesGeneratedPuzzles() {
+        for (BoardGeometry geometry : GEOMETRIES) {
+            for (Difficulty difficulty : Difficulty.values()) {
+                BoardModel board = new BoardModel(geometry, SolverType.PROPAGATION, difficulty, FillMode.TRANSFORM,
+                        new SplittableRandom(geometry.getSize()));
+                for (int i = 0; i < 3; i++) {
+                    for (SolverType type : SolverType.values()) {
+                        ISolver solver = type.create(geometry, new SplittableRandom(i));
+                        int[][] puzzle = board.copySudoku(board.getSudoku());
+                        assertEquals(1, solver.countSolutions(puzzle, 2), type + " on " + geometry);
+                        assertArrayEquals(board.getSudoku(), puzzle, type + " changed the puzzle");
+                        assertTrue(solver.solve(puzzle), type + " on " + geometry);
+                        assertArrayEquals(board.getBoardFull(), puzzle, type + " on " + geometry);
+                    }
+                    board.regenerate();
+                }
+            }
+        }
+    }
+
+    @Test
+    void everyEngineFillsAnEmptyBoard() {
+        for (BoardGeometry geometry : GEOMETRIES) {
+            for (SolverType type : SolverType.values()) {
+                int size = geometry.getSize();
+                int[][] grid = new int[size][size];
+                assertTrue(type.create(geometry, new SplittableRandom(3)).solve(grid), type + " on " + geometry);
+                BitBoard bitBoard = new BitBoard(geometry);
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        assertTrue(bitBoard.canPlace(row, col, grid[row][col]), type + " on " + geometry);
+                        bitBoard.place(row, col, grid[row][col]);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void countSolutionsStopsAtTheLimit() {
+        for (SolverType type : SolverType.values()) {
+            ISolver solver = type.create(BoardGeometry.FOUR, new SplittableRandom(1));
+            assertEquals(2, solver.countSolutions(new int[4][4], 2), type.toString());
+            assertEquals(288, solver.countSolutions(new int[4][4], 1000), type.toString());
+        }
+    }
+
+    @Test
+    void hasSolutionExcludingFindsOnlyOtherSolutions() {
+        for (BoardGeometry geometry : GEOMETRIES) {
+            BoardModel board = new BoardModel(geometry, SolverType.PROPAGATION, Difficulty.HARD, FillMode.TRANSFORM,
+                    new SplittableRandom(7));
+            int[][] puzzle = board.getSudoku();
+            int[][] solution = board.getBoardFull();
+            PropagationSolver solver = new PropagationSolver(geometry, new SplittableRandom(7));
+            int size = geometry.getSize();
+            for (int cell = 0; cell < size * size; cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                if (puzzle[row][col] == 0) {
+                    assertFalse(solver.hasSolutionExcluding(puzzle, row, col, solution[row][col]));
+                    assertFalse(solver.getLastStats().isAborted());
+                }
+            }
+
+            for (int cell = 0; cell < size * size; cell++) {
+                int row = cell / size;
+                int col = cell % size;
+                int clue = puzzle[row][col];
+                if (clue != 0) {
+                    puzzle[row][col] = 0;
+                    boolean other = solver.countSolutions(puzzle, 2) == 2;
+                    int[][] copy = board.copySudoku(puzzle);
+                    assertEquals(other, solver.hasSolutionExcluding(puzzle, row, col, clue));
+                    assertArrayEquals(copy, puzzle);
+                    puzzle[row][col] = clue;
+                }
+            }
+        }
+    }
+
+    @Test
+    void nodeLimitAbortsTheSearch() {
+        PropagationSolver solver = new PropagationSolver(BoardGeometry.NINE, new SplittableRandom(1));
+        solver.setNodeLimit(0);
+        assertFalse(solver.solve(new int[9][9]));
+        assertTrue(solver.getLastStats().isAborted());
+
+        solver.setNodeLimit(Long.MAX_VALUE);
+        assertTrue(solver.solve(new int[9][9]));
+        assertFalse(solver.getLastStats().isAborted());
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.sodoku.session;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.Puzzle;
+import com.example.sodoku.models.PuzzleId;
+import com.example.sodoku.models.SolverType;
+import com.example.sodoku.models.SudokuGame;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void resumeWithoutSessionReturnsNull() {
+        try (SessionStore store = new SessionStore(directory)) {
+            assertNull(store.resume());
+        }
+    }
+
+    @Test
+    void resumeRestoresBoardHintsAndHistory() {
+        for (BoardGeometry geometry : new BoardGeometry[] {BoardGeometry.SIX, BoardGeometry.NINE}) {
+            SudokuGame game = newGame(geometry, 7);
+            try (SessionStore store = new SessionStore(directory)) {
+                store.start(game);
+                play(game);
+            }
+            assertTrue(game.getJournal().canUndo());
+            assertTrue(game.getJournal().canRedo());
+
+            try (SessionStore store = new SessionStore(directory)) {
+                SudokuGame resumed = store.resume();
+                assertNotNull(resumed);
+                assertSameState(game, resumed);
+            }
+        }
+    }
+
+    @Test
+    void resumedGameKeepsSaving() {
+        SudokuGame game = newGame(BoardGeometry.SIX, 11);
+        try (SessionStore store = new SessionStore(directory)) {
+            store.start(game);
+            play(game);
+        }
+        SudokuGame resumed;
+        try (SessionStore store = new SessionStore(directory)) {
+            resumed = store.resume();
+            resumed.undo();
+            resumed.addHelpNumbers();
+        }
+        try (SessionStore store = new SessionStore(directory)) {
+            assertSameState(resumed, store.resume());
+        }
+    }
+
+    @Test
+    void logOfAnOlderGameIsIgnored() throws IOException {
+        SudokuGame older = newGame(BoardGeometry.SIX, 1);
+        try (SessionStore store = new SessionStore(directory)) {
+            store.start(older);
+            play(older);
+        }
+        byte[] olderLog = Files.readAllBytes(directory.resolve("session.log"));
+
+        SudokuGame newer = newGame(BoardGeometry.SIX, 2);
+        try (SessionStore store = new SessionStore(directory)) {
+            store.start(newer);
+        }
+        Files.write(directory.resolve("session.log"), olderLog);
+
+        try (SessionStore store = new SessionStore(directory)) {
+            SudokuGame resumed = store.resume();
+            assertNotNull(resumed);
+            assertSameState(newer, resumed);
+            assertEquals(0, resumed.getHintsUsed());
+            assertFalse(resumed.getJournal().canUndo());
+        }
+    }
+
+    @Test
+    void tornTailIsDroppedAndHintsAfterDamageAreNotCounted() throws IOException {
+        SudokuGame game = newGame(BoardGeometry.SIX, 3);
+        try (SessionStore store = new SessionStore(directory)) {
+            store.start(game);
+            play(game);
+        }
+        Path logFile = directory.resolve("session.log");
+        long intact = Files.size(logFile);
+
+        ByteBuffer damage = ByteBuffer.allocate(3 * Integer.BYTES + 2).order(ByteOrder.LITTLE_ENDIAN);
+        damage.putInt(0xF << SessionStore.KIND_SHIFT);
+        damage.putInt(SessionStore.HINT << SessionStore.KIND_SHIFT);
+        damage.putInt(SessionStore.HINT << SessionStore.KIND_SHIFT);
+        damage.put((byte) 1).put((byte) 2);
+        Files.write(logFile, damage.array(), StandardOpenOption.APPEND);
+
+        try (SessionStore store = new SessionStore(directory)) {
+            SudokuGame resumed = store.resume();
+            assertNotNull(resumed);
+            assertSameState(game, resumed);
+        }
+        assertEquals(intact, Files.size(logFile));
+        try (SessionStore store = new SessionStore(directory)) {
+            assertSameState(game, store.resume());
+        }
+    }
+
+    /**
+     * Plays a mix of moves, some of them placing hinted digits, undos, redos and hints, ending with a
+     * move to redo.
+     *
+     * @param game The game to play on.
+     */
+    private static void play(SudokuGame game) {
+        int size = game.getGeometry().getSize();
+        int[][] solution = game.getPuzzle().getSolution();
+        int placed = 0;
+        for (int cell = 0; cell < size * size && placed < 5; cell++) {
+            int row = cell / size;
+            int col = cell % size;
+            if (game.getMatrix()[row][col] == 0) {
+                int wrong = solution[row][col] % size + 1;
+                game.setValue(wrong, row, col);
+                game.setValue(solution[row][col], row, col, placed % 2 == 0);
+                placed++;
+            }
+        }
+        game.undo();
+        game.undo();
+        game.redo();
+        game.addHelpNumbers();
+        game.addHelpNumbers();
+        for (int cell = size * size - 1; cell >= 0; cell--) {
+            if (game.getMatrix()[cell / size][cell % size] == 0) {
+                game.setValue(solution[cell / size][cell % size], cell / size, cell % size);
+                game.clearValue(cell / size, cell % size);
+                break;
+            }
+        }
+        game.undo();
+    }
+
+    /**
+     * Starts a game on the puzzle of a fixed ID.
+     *
+     * @param geometry The shape of the board.
+     * @param seed The seed of the puzzle ID.
+     * @return The new game.
+     */
+    private static SudokuGame newGame(BoardGeometry geometry, long seed) {
+        Puzzle puzzle = PuzzleId.generate(PuzzleId.of(geometry, SolverType.PROPAGATION, Difficulty.MEDIUM, seed));
+        return new SudokuGame(puzzle);
+    }
+
+    /**
+     * Checks that two games hold the same puzzle, board, hinted cells, hint count and history ends.
+     *
+     * @param expected The game as it was saved.
+     * @param actual The resumed game.
+     */
+    private static void assertSameState(SudokuGame expected, SudokuGame actual) {
+        assertEquals(expected.getPuzzleId(), actual.getPuzzleId());
+        assertArrayEquals(expected.getPuzzle().getClues(), actual.getPuzzle().getClues());
+        assertArrayEquals(expected.getMatrix(), actual.getMatrix());
+        assertEquals(expected.getEmptyCount(), actual.getEmptyCount());
+        int size = expected.getGeometry().getSize();
+        for (int cell = 0; cell < size * size; cell++) {
+            assertEquals(expected.isHinted(cell / size, cell % size), actual.isHinted(cell / size, cell % size));
+        }
+        assertEquals(expected.getHintsUsed(), actual.getHintsUsed());
+        assertEquals(expected.getJournal().canUndo(), actual.getJournal().canUndo());
+        assertEquals(expected.getJournal().canRedo(), actual.getJournal().canRedo());
+    }
+}
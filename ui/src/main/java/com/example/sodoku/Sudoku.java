@@ -1,5 +1,6 @@
 package com.example.sodoku;
 
+import com.example.sodoku.controller.GameController;
 import com.example.sodoku.views.GameView;
 import javafx.application.Application;
 import javafx.stage.Stage;
@@ -21,4 +22,12 @@ public class Sudoku extends Application {
     public void start(Stage stage) throws Exception {
         GameView.getInstance();
     }
-}
\ No newline at end of file
+
+    /**
+     * Saves the moves of the current game that are not written yet before the application exits.
+     */
+    @Override
+    public void stop() {
+        GameController.closeSession();
+    }
+}
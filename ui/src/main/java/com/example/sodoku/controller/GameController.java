@@ -0,0 +1,630 @@
+package com.example.sodoku.controller;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.FillMode;
+import com.example.sodoku.models.Hint;
+import com.example.sodoku.models.MoveJournal;
+import com.example.sodoku.models.SolverType;
+import com.example.sodoku.models.SudokuGame;
+import com.example.sodoku.pool.PuzzlePool;
+import com.example.sodoku.session.SessionStore;
+import com.example.sodoku.utils.CustomAlert;
+import com.example.sodoku.utils.GameLoadTask;
+import com.example.sodoku.utils.LatencyRecorder;
+import com.example.sodoku.utils.SessionResumeTask;
+import com.example.sodoku.views.BoardCanvas;
+import com.example.sodoku.views.CellState;
+import javafx.animation.ScaleTransition;
+import javafx.beans.value.ChangeListener;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TextField;
+import javafx.scene.control.TextFormatter;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import javafx.util.Duration;
+
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The GameController class manages the logic and interaction between the game and the user interface (UI)
+ * for the Sudoku game. It controls the game state, updates the board, and handles user input.
+ * 6x6 boards are played on the {@code TextField} grid of the FXML view; larger boards are drawn
+ * on a {@link BoardCanvas}, which avoids one scene-graph node per cell.
+ * The input filter and listener of every text field are created once and reused by every game,
+ * and keystrokes are validated character by character, so typing allocates nothing in the controller.
+ * New games are loaded by a {@link GameLoadTask} on a background thread; starting another game cancels
+ * the pending load, and the board of the latest one is applied on the application thread in one pass.
+ * The game being played is saved by a {@link SessionStore} as it changes and resumed when the view
+ * opens; {@code -Dsodoku.session.dir} selects the directory of the session files.
+ * Run with {@code -Dsodoku.latency=true} to print the keystroke-to-feedback latency after each game.
+ * @author Juan Toro
+ */
+public class GameController {
+
+    private static final PuzzlePool PUZZLE_POOL = new PuzzlePool(4, SolverType.BACKTRACKING, FillMode.TRANSFORM);
+    private static final ExecutorService GAME_LOADER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "game-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final SessionStore SESSION_STORE = new SessionStore(Paths.get(
+            System.getProperty("sodoku.session.dir", Paths.get(System.getProperty("user.home"), ".sodoku").toString())));
+    private static final BoardGeometry[] SIZES = {
+            BoardGeometry.SIX, BoardGeometry.NINE, BoardGeometry.TWELVE, BoardGeometry.SIXTEEN, BoardGeometry.TWENTY_FIVE
+    };
+    private static final double CANVAS_SIDE = 510.0;
+    private static final boolean REPORT_LATENCY = Boolean.getBoolean("sodoku.latency");
+    private static final KeyCombination UNDO_KEYS = new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN);
+    private static final KeyCombination REDO_KEYS = new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN);
+    private static final String[] VALUE_TEXT = new String[BoardGeometry.TWENTY_FIVE.getSize() + 1];
+
+    static {
+        VALUE_TEXT[0] = "";
+        for (int value = 1; value < VALUE_TEXT.length; value++) {
+            VALUE_TEXT[value] = Integer.toString(value);
+        }
+    }
+
+    private int[][] matrix;
+    private SudokuGame sudoku;
+    private BoardGeometry geometry = BoardGeometry.SIX;
+    private final Difficulty difficulty = Difficulty.MEDIUM;
+    private final CustomAlert customAlert = new CustomAlert();
+    private final LatencyRecorder inputLatency = new LatencyRecorder();
+    private TextField[][] cells;
+    private BoardCanvas boardCanvas;
+    private boolean hinting;
+    private boolean loading;
+    private Task<SudokuGame> loadTask;
+
+    @FXML
+    private GridPane sudokuGrid;
+
+    @FXML
+    private ProgressIndicator loadingIndicator;
+
+    @FXML
+    private Button OnActionButtonPlay, OnActionButtonHelp;
+
+    @FXML
+    private ChoiceBox<BoardGeometry> sizeChoice;
+
+
+    /**
+     * Called by the FXML loader once the view is ready. Indexes the cells of the grid and installs their
+     * input handling, adds the canvas used for larger boards and starts filling the puzzle pool in the
+     * background so the first game does not have to wait for generation.
+     */
+    @FXML
+    public void initialize() {
+        int gridSize = BoardGeometry.SIX.getSize();
+        cells = new TextField[gridSize][gridSize];
+        for (Node node : sudokuGrid.getChildren()) {
+            if (node instanceof TextField) {
+                Integer rowIndex = GridPane.getRowIndex(node);
+                Integer columnIndex = GridPane.getColumnIndex(node);
+                int row = rowIndex == null ? 0 : rowIndex;
+                int col = columnIndex == null ? 0 : columnIndex;
+                TextField textField = (TextField) node;
+                cells[row][col] = textField;
+                textField.getStyleClass().add("cell");
+                textField.setTextFormatter(new TextFormatter<String>(change -> {
+                    if (isValidInput(change)) {
+                        return change;
+                    }
+                    inputLatency.cancel();
+                    return null;
+                }));
+                addTextFieldListener(textField, row, col);
+            }
+        }
+        sudokuGrid.addEventFilter(KeyEvent.KEY_TYPED, event -> inputLatency.start());
+        sudokuGrid.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (newScene != null) {
+                newScene.addEventFilter(KeyEvent.KEY_PRESSED, this::onHistoryKey);
+            }
+        });
+
+        boardCanvas = new BoardCanvas(CANVAS_SIDE);
+        boardCanvas.setInputHandler((row, col, value) -> {
+            inputLatency.start();
+            onCanvasInput(row, col, value);
+        });
+        showCanvas(false);
+        Pane parent = (Pane) sudokuGrid.getParent();
+        parent.getChildren().add(parent.getChildren().indexOf(sudokuGrid) + 1, boardCanvas);
+
+        sizeChoice.getItems().setAll(SIZES);
+        sizeChoice.setValue(geometry);
+        sizeChoice.valueProperty().addListener((observable, oldValue, newValue) ->
+                PUZZLE_POOL.prefill(newValue, difficulty));
+        PUZZLE_POOL.prefill(geometry, difficulty);
+        resumeSession();
+    }
+
+    /**
+     * Writes the moves of the current game that are not saved yet and stops saving. Called when the
+     * application exits.
+     */
+    public static void closeSession() {
+        SESSION_STORE.close();
+    }
+
+    /**
+     * Resumes the game saved in the last session, in the background. Nothing is shown if there is no
+     * saved game, and starting a new game first discards the resumed one.
+     */
+    private void resumeSession() {
+        SessionResumeTask task = new SessionResumeTask(SESSION_STORE);
+        loadTask = task;
+        task.setOnSucceeded(event -> {
+            if (task == loadTask) {
+                endLoading();
+                SudokuGame game = task.getValue();
+                if (game != null) {
+                    OnActionButtonPlay.setText("NUEVO JUEGO");
+                    sizeChoice.setValue(game.getGeometry());
+                    applyGame(game);
+                }
+            }
+        });
+        task.setOnFailed(event -> {
+            if (task == loadTask) {
+                endLoading();
+            }
+        });
+        loadingIndicator.progressProperty().bind(task.progressProperty());
+        loadingIndicator.setVisible(true);
+        GAME_LOADER.execute(task);
+    }
+
+    /**
+     * Starts a new game by initializing the Sudoku board, disabling/enabling relevant buttons,
+     * and populating the board with helper numbers.
+     * It also sets up listeners on each cell for user input.
+     */
+    @FXML
+    public void playGame() {
+        if(!customAlert.makeAlertConfirmation()) {
+            return;
+        }
+        OnActionButtonPlay.setText("NUEVO JUEGO");
+        game();
+    }
+
+    /**
+     * Loads a new game of the selected size in the background. A load still pending from an earlier
+     * click is cancelled, and the board is locked until the new game is ready.
+     */
+    public void game() {
+        if (loadTask != null) {
+            loadTask.cancel();
+        }
+        GameLoadTask task = new GameLoadTask(PUZZLE_POOL, sizeChoice.getValue(), difficulty);
+        loadTask = task;
+        task.setOnSucceeded(event -> {
+            if (task == loadTask) {
+                endLoading();
+                SESSION_STORE.start(task.getValue());
+                applyGame(task.getValue());
+            }
+        });
+        task.setOnFailed(event -> {
+            if (task == loadTask) {
+                endLoading();
+                customAlert.makeAlertError("Error", "No se pudo generar el tablero.");
+            }
+        });
+        OnActionButtonHelp.setDisable(true);
+        sudokuGrid.setDisable(true);
+        boardCanvas.setDisable(true);
+        loadingIndicator.progressProperty().bind(task.progressProperty());
+        loadingIndicator.setVisible(true);
+        GAME_LOADER.execute(task);
+    }
+
+    /**
+     * Hides the progress of the finished load and unlocks the board.
+     */
+    private void endLoading() {
+        loadTask = null;
+        loadingIndicator.progressProperty().unbind();
+        loadingIndicator.setVisible(false);
+        sudokuGrid.setDisable(false);
+        boardCanvas.setDisable(false);
+    }
+
+    /**
+     * Shows a loaded game, resetting the grid or the canvas and filling in its clues in a single
+     * pass on the application thread.
+     *
+     * @param game The game to play.
+     */
+    private void applyGame(SudokuGame game) {
+        reportLatency();
+        this.sudoku = game;
+        this.matrix = game.getMatrix();
+        this.geometry = game.getGeometry();
+        OnActionButtonHelp.setDisable(false);
+        if (usesCanvas()) {
+            canvasGame();
+            return;
+        }
+        showCanvas(false);
+        loading = true;
+        int size = geometry.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                TextField textField = (TextField) getNodeByRowColumnIndex(row, col);
+                textField.setText("");
+                textField.setDisable(false);
+                textField.setEditable(true);
+                CellState.apply(textField, CellState.EMPTY);
+            }
+        }
+        firstValues();
+        loading = false;
+    }
+
+    /**
+     * Shows the clues of the current game on the canvas, and the values already entered when the
+     * game was resumed.
+     */
+    private void canvasGame() {
+        showCanvas(true);
+        boardCanvas.setGeometry(geometry);
+        int[][] clues = sudoku.getPuzzle().getClues();
+        int size = geometry.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (this.matrix[row][col] != 0) {
+                    boardCanvas.setCell(row, col, this.matrix[row][col],
+                            clues[row][col] != 0 ? CellState.GIVEN
+                                    : sudoku.isHinted(row, col) ? CellState.HINTED : CellState.CORRECT);
+                }
+            }
+        }
+        boardCanvas.requestFocus();
+    }
+
+    /**
+     * Handles a value entered or erased on the canvas, validating it like a cell of the grid.
+     * A conflicting value is shown in red but not kept in the game, which keeps the previous value of
+     * the cell and records no move, as with the text fields.
+     *
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     * @param value The value entered, or 0 if the cell was erased.
+     */
+    private void onCanvasInput(int row, int col, int value) {
+        if (value == 0) {
+            sudoku.clearValue(row, col);
+            boardCanvas.setCell(row, col, 0, CellState.EMPTY);
+            inputLatency.stop();
+        } else if (sudoku.verifyValue(value, row, col)) {
+            sudoku.setValue(value, row, col, hinting);
+            boardCanvas.setCell(row, col, value, hinting ? CellState.HINTED : CellState.CORRECT);
+            inputLatency.stop();
+            if (sudoku.gameFinished()) {
+                finishGame();
+            }
+        } else {
+            boardCanvas.setCell(row, col, value, CellState.WRONG);
+            inputLatency.stop();
+            customAlert.makeAlertError("Error", "Número no válido");
+        }
+    }
+
+    /**
+     * Takes back or replays a move of the current game with the undo and redo shortcuts. The event is
+     * filtered at the scene, before a text field can use the same keys for its own text history.
+     *
+     * @param event The key pressed.
+     */
+    private void onHistoryKey(KeyEvent event) {
+        boolean undo = UNDO_KEYS.match(event);
+        if (!undo && !REDO_KEYS.match(event)) {
+            return;
+        }
+        event.consume();
+        if (sudoku == null || loadTask != null || sudoku.gameFinished()) {
+            return;
+        }
+        int move = undo ? sudoku.undo() : sudoku.redo();
+        if (move == MoveJournal.NONE) {
+            return;
+        }
+        int row = MoveJournal.cell(move) / geometry.getSize();
+        int col = MoveJournal.cell(move) % geometry.getSize();
+        int value = undo ? MoveJournal.oldValue(move) : MoveJournal.newValue(move);
+        CellState state = value == 0 ? CellState.EMPTY
+                : sudoku.isHinted(row, col) ? CellState.HINTED : CellState.CORRECT;
+        if (usesCanvas()) {
+            boardCanvas.setCell(row, col, value, state);
+        } else {
+            loading = true;
+            TextField textField = (TextField) getNodeByRowColumnIndex(row, col);
+            textField.setText(value == 0 ? "" : VALUE_TEXT[value]);
+            CellState.apply(textField, state);
+            loading = false;
+        }
+        if (sudoku.gameFinished()) {
+            finishGame();
+        }
+    }
+
+    /**
+     * Checks whether the current board is drawn on the canvas instead of the grid of text fields.
+     *
+     * @return true if the board is larger than the grid of the view.
+     */
+    private boolean usesCanvas() {
+        return !geometry.equals(BoardGeometry.SIX);
+    }
+
+    /**
+     * Shows either the canvas or the grid of text fields.
+     *
+     * @param visible true to show the canvas, false to show the grid.
+     */
+    private void showCanvas(boolean visible) {
+        boardCanvas.setVisible(visible);
+        boardCanvas.setManaged(visible);
+        sudokuGrid.setVisible(!visible);
+        sudokuGrid.setManaged(!visible);
+    }
+
+    /**
+     * Congratulates the player and locks the board once every cell is filled.
+     */
+    private void finishGame() {
+        reportLatency();
+        customAlert.makeAlertInformation("Felicidades", "Lograste completar el juego!!");
+        for (Node node : sudokuGrid.getChildren()) {
+            if (node instanceof TextField) {
+                node.setDisable(true);
+            }
+        }
+        boardCanvas.setDisable(true);
+        OnActionButtonHelp.setDisable(true);
+    }
+
+    /**
+     * Initializes the first values of the Sudoku grid based on the generated matrix.
+     * It populates the grid with preset numbers, and with the values already entered when the game was
+     * resumed; the input validation of each cell was installed once by {@link #initialize()}.
+     */
+    private void firstValues(){
+        int[][] clues = sudoku.getPuzzle().getClues();
+        int size = geometry.getSize();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                TextField textField = (TextField) getNodeByRowColumnIndex(row, col);
+                if (clues[row][col] != 0) {
+                    textField.setText(VALUE_TEXT[clues[row][col]]);
+                    blockTextField(textField);
+                } else if (this.matrix[row][col] != 0) {
+                    textField.setText(VALUE_TEXT[this.matrix[row][col]]);
+                    CellState.apply(textField, sudoku.isHinted(row, col) ? CellState.HINTED : CellState.CORRECT);
+                } else {
+                    textField.setText("");
+                    textField.setDisable(false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the text of a cell after an edit is empty or a number between 1 and the board size,
+     * reading its characters from the edit itself instead of building the new text.
+     *
+     * @param change The edit of the cell.
+     * @return true if the text after the edit is an allowed cell value; false otherwise.
+     */
+    private boolean isValidInput(TextFormatter.Change change) {
+        String controlText = change.getControlText();
+        String inserted = change.getText();
+        int start = change.getRangeStart();
+        int end = change.getRangeEnd();
+        int length = controlText.length() - (end - start) + inserted.length();
+        if (length == 0) {
+            return true;
+        }
+        if (length > 2) {
+            return false;
+        }
+        int value = 0;
+        for (int i = 0; i < length; i++) {
+            char c;
+            if (i < start) {
+                c = controlText.charAt(i);
+            } else if (i < start + inserted.length()) {
+                c = inserted.charAt(i - start);
+            } else {
+                c = controlText.charAt(i - inserted.length() + (end - start));
+            }
+            if (c < '0' || c > '9' || (i == 0 && c == '0')) {
+                return false;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value <= geometry.getSize();
+    }
+
+    /**
+     * Reads the value of a cell whose text already passed {@link #isValidInput(TextFormatter.Change)}.
+     *
+     * @param text The text of the cell.
+     * @return The value of the cell, or 0 if it is empty.
+     */
+    private static int parseValue(String text) {
+        int value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Adds a listener to the TextField to monitor user input. The listener is added once and serves
+     * every game, reading the current game when it fires; it ignores the text set while a game loads.
+     * It updates the matrix, validates user input, and shows the resulting {@link CellState} of the cell.
+     *
+     * @param textField The TextField to which the listener is added.
+     * @param row The row index of the cell.
+     * @param col The column index of the cell.
+     */
+    private void addTextFieldListener(TextField textField, int row, int col) {
+        ChangeListener<String> listener = (observable, oldValue, newValue) -> {
+            if (loading || sudoku == null) {
+                return;
+            }
+            int value = parseValue(newValue);
+            if (value != 0) {
+                if (sudoku.verifyValue(value, row, col)) {
+                    sudoku.setValue(value, row, col, hinting);
+                    CellState.apply(textField, hinting ? CellState.HINTED : CellState.CORRECT);
+                    inputLatency.stop();
+
+                    if (sudoku.gameFinished()) {
+                        finishGame();
+                    }
+                } else {
+                    CellState.apply(textField, CellState.WRONG);
+                    inputLatency.stop();
+                    customAlert.makeAlertError("Error", "Número no válido");
+                }
+            } else {
+                sudoku.clearValue(row, col);
+                CellState.apply(textField, CellState.EMPTY);
+                inputLatency.stop();
+            }
+        };
+        textField.textProperty().addListener(listener);
+    }
+
+    /**
+     * Prints the keystroke-to-feedback latency measured since the last report, when enabled
+     * with {@code -Dsodoku.latency=true}.
+     */
+    private void reportLatency() {
+        if (REPORT_LATENCY && inputLatency.getCount() > 0) {
+            System.err.println("Keystroke latency: " + inputLatency);
+            inputLatency.reset();
+        }
+    }
+
+    /**
+     * Retrieves the node (TextField) from the GridPane based on the given row and column indices.
+     * The text fields are indexed once when the view is loaded, so the lookup does not scan the grid.
+     *
+     * @param row The row index.
+     * @param column The column index.
+     * @return The Node at the specified row and column.
+     */
+    public Node getNodeByRowColumnIndex(int row, int column) {
+        return cells[row][column];
+    }
+
+    /**
+     * Locks the given TextField, making it non-editable and showing it as a given clue.
+     *
+     * @param textField The TextField to be locked.
+     */
+    public void blockTextField(TextField textField) {
+        textField.setEditable(false);
+        CellState.apply(textField, CellState.GIVEN);
+    }
+
+    /**
+     * Handles the help button logic, allowing the user to request a single help number.
+     * Disables the button when no more help is available.
+     */
+    public void help (){
+        OnActionButtonHelp.setOnMousePressed(event -> {
+            ScaleTransition scaleTransition = new ScaleTransition(Duration.millis(100), OnActionButtonHelp);
+            scaleTransition.setFromX(1.0);
+            scaleTransition.setFromY(1.0);
+            scaleTransition.setToX(0.9); // Escala el botón al 90%
+            scaleTransition.setToY(0.9);
+            scaleTransition.play();
+        });
+        OnActionButtonHelp.setOnMouseReleased(event -> {
+            ScaleTransition scaleTransition = new ScaleTransition(Duration.millis(100), OnActionButtonHelp);
+            scaleTransition.setFromX(0.9);
+            scaleTransition.setFromY(0.9);
+            scaleTransition.setToX(1.0); // Vuelve al tamaño original
+            scaleTransition.setToY(1.0);
+            scaleTransition.play();
+        });
+
+        Hint hint = sudoku.addHelpNumbers();
+        if (hint == null) {
+            customAlert.makeAlertError("Error", "No puedes usar la ayuda para ganar.");
+            return;
+        }
+        inputLatency.cancel();
+        hinting = true;
+        try {
+            if (usesCanvas()) {
+                onCanvasInput(hint.getRow(), hint.getCol(), hint.getValue());
+                return;
+            }
+            TextField textField = (TextField) getNodeByRowColumnIndex(hint.getRow(), hint.getCol());
+            if (textField != null) {
+                textField.setText(VALUE_TEXT[hint.getValue()]);
+                textField.setEditable(true);
+            }
+        } finally {
+            hinting = false;
+        }
+    }
+
+    /**
+     * Displays the game instructions using an alert box, for the board size selected.
+     */
+    public void instructions() {
+        BoardGeometry selected = sizeChoice.getValue();
+        int size = selected.getSize();
+        String block = selected.getBlockRows() + "x" + selected.getBlockCols();
+        customAlert.makeAlertInformation("Instrucciones", """
+                Objetivo
+                
+                El objetivo es rellenar la cuadrícula %1$s con números del 1 al %2$d, asegurándote de que no se repitan en:
+                
+                1. Filas: Cada número del 1 al %2$d debe aparecer una vez por fila.
+                2. Columnas: Cada número del 1 al %2$d debe aparecer una vez por columna.
+                3. Bloques: La cuadrícula está dividida en %2$d bloques de %3$s, y cada número del 1 al %2$d debe aparecer una vez en cada bloque.
+                
+                Reglas
+                
+                1. No puedes repetir números: Los números no pueden repetirse en ninguna fila, columna o bloque de %3$s.
+                2. Usa las pistas dadas: Algunas celdas ya tienen números preestablecidos. Estas pistas te ayudarán a deducir el resto de los números.
+                3. Elige cuidadosamente: Usa la lógica y la deducción para colocar los números en las celdas vacías. No debes adivinar.
+                
+                Consejos
+                
+                1. Escanea filas y columnas: Revisa si solo queda un número posible para una fila, columna o bloque.
+                2. Bloques de %3$s: Asegúrate de observar las limitaciones en los bloques. Esta es una clave importante para resolver el puzzle.
+                3. Usa eliminación: Si en una fila, columna o bloque ya hay varios números, elimina esos números de las posibles opciones para las celdas vacías.
+                
+                Nota:
+                
+                Tienes 3 ayudas!!
+                
+                Suerte! La vas a necesitar!
+                """.formatted(selected, size, block));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.sodoku.utils;
+
+import com.example.sodoku.models.BoardGeometry;
+import com.example.sodoku.models.Difficulty;
+import com.example.sodoku.models.Puzzle;
+import com.example.sodoku.models.SudokuGame;
+import com.example.sodoku.pool.PuzzlePool;
+import javafx.concurrent.Task;
+
+/**
+ * Background task that prepares a new game: it takes a puzzle from the pool, which generates one
+ * when the pool is empty, and builds the game state around it, so the JavaFX application thread never
+ * waits for generation. Progress and a message are published for the view; taking the puzzle is
+ * reported as indeterminate, since a pool hit is immediate and a miss runs a whole generation. A task cancelled before
+ * its game is used hands the puzzle back to the pool, so a replaced load does not waste its work.
+ * @author Juan Toro
+ */
+public class GameLoadTask extends Task<SudokuGame> {
+
+    private final PuzzlePool pool;
+    private final BoardGeometry geometry;
+    private final Difficulty difficulty;
+
+    /**
+     * Creates a task that loads a game of the given shape and difficulty.
+     *
+     * @param pool The pool the puzzle is taken from.
+     * @param geometry The shape of the board.
+     * @param difficulty The difficulty of the puzzle.
+     */
+    public GameLoadTask(PuzzlePool pool, BoardGeometry geometry, Difficulty difficulty) {
+        this.pool = pool;
+        this.geometry = geometry;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Takes the puzzle and builds the game, on a background thread.
+     *
+     * @return The new game, or null if the task was cancelled.
+     */
+    @Override
+    protected SudokuGame call() {
+        updateMessage("Generando tablero " + geometry + "...");
+        updateProgress(-1, 2);
+        Puzzle puzzle = pool.take(geometry, difficulty);
+        if (isCancelled()) {
+            pool.offer(puzzle);
+            return null;
+        }
+        updateProgress(1, 2);
+        SudokuGame game = new SudokuGame(puzzle);
+        if (isCancelled()) {
+            pool.offer(puzzle);
+            return null;
+        }
+        updateProgress(2, 2);
+        updateMessage("");
+        return game;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.sodoku.utils;
+
+import java.util.Arrays;
+
+/**
+ * Measures the time between a user action and the feedback shown for it, such as a keystroke and
+ * the color of the edited cell. Samples are kept in power-of-two microsecond buckets, so recording
+ * never allocates. Intended for a single thread, the JavaFX application thread.
+ * @author Juan Toro
+ */
+public class LatencyRecorder {
+
+    private static final int BUCKETS = 32;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long pendingStart;
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    /**
+     * Marks the start of an action. A later start replaces a pending one.
+     */
+    public void start() {
+        pendingStart = System.nanoTime();
+    }
+
+    /**
+     * Records the time elapsed since the pending start, if any, and clears it.
+     */
+    public void stop() {
+        if (pendingStart == 0) {
+            return;
+        }
+        long elapsed = System.nanoTime() - pendingStart;
+        pendingStart = 0;
+        count++;
+        totalNanos += elapsed;
+        maxNanos = Math.max(maxNanos, elapsed);
+        long micros = elapsed / 1000;
+        int bucket = micros == 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+        buckets[Math.min(bucket, BUCKETS - 1)]++;
+    }
+
+    /**
+     * Drops the pending start, for an action that produced no feedback.
+     */
+    public void cancel() {
+        pendingStart = 0;
+    }
+
+    /**
+     * Returns the number of recorded samples.
+     *
+     * @return The sample count.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the mean latency.
+     *
+     * @return The mean in nanoseconds, or 0 if nothing was recorded.
+     */
+    public long getMeanNanos() {
+        return count == 0 ? 0 : totalNanos / count;
+    }
+
+    /**
+     * Returns the highest latency recorded.
+     *
+     * @return The maximum in nanoseconds.
+     */
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile, rounded up to the bucket limit.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The latency in nanoseconds below which that share of the samples falls.
+     */
+    public long getPercentileNanos(double percentile) {
+        long target = (long) Math.ceil(count * percentile / 100.0);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += buckets[bucket];
+            if (seen >= target && seen > 0) {
+                return (1L << bucket) * 1000;
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Discards every sample.
+     */
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        pendingStart = 0;
+        count = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("samples=%d, mean=%.1f us, p99<=%d us, max=%.1f us",
+                count, getMeanNanos() / 1e3, getPercentileNanos(99) / 1000, maxNanos / 1e3);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.sodoku.utils;
+
+import com.example.sodoku.models.SudokuGame;
+import com.example.sodoku.session.SessionStore;
+import javafx.concurrent.Task;
+
+/**
+ * Background task that resumes the game saved by a {@link SessionStore}, so reading the session
+ * files and replaying its moves never runs on the JavaFX application thread.
+ * @author Juan Toro
+ */
+public class SessionResumeTask extends Task<SudokuGame> {
+
+    private final SessionStore store;
+
+    /**
+     * Creates a task that resumes the session of the given store.
+     *
+     * @param store The store holding the saved session.
+     */
+    public SessionResumeTask(SessionStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Loads the saved game, on a background thread.
+     *
+     * @return The resumed game, or null if there is no saved game or it was already finished.
+     */
+    @Override
+    protected SudokuGame call() {
+        updateProgress(-1, 1);
+        SudokuGame game = store.resume();
+        updateProgress(1, 1);
+        if (game == null || game.gameFinished()) {
+            return null;
+        }
+        return game;
+    }
+}
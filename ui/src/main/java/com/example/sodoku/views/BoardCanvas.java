@@ -0,0 +1,393 @@
+package com.example.sodoku.views;
+
+import com.example.sodoku.models.BoardGeometry;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import javafx.util.Duration;
+
+/**
+ * Draws a whole Sudoku board on a single {@link Canvas}, for boards too large to build from one
+ * {@code TextField} per cell. The canvas keeps the displayed value and state of every cell, redraws
+ * only the cells that changed, and coalesces all changes made during one event into a single redraw.
+ * One mouse handler selects cells and one key handler edits the selected cell; edits are reported
+ * through an {@link InputHandler}. On boards larger than 9x9 the digits of a value are buffered
+ * until the value is complete, so a two-digit value is reported as one edit.
+ * @author Juan Toro
+ */
+public class BoardCanvas extends Canvas {
+
+    private static final Color GIVEN_COLOR = Color.LIGHTGRAY;
+    private static final Color CORRECT_COLOR = Color.web("#c7ffb8");
+    private static final Color WRONG_COLOR = Color.web("#ff9898");
+    private static final Color HINTED_COLOR = Color.web("#b8e0ff");
+    private static final Color EMPTY_COLOR = Color.WHITE;
+    private static final Color SELECTED_COLOR = Color.web("#0080ff");
+    private static final Duration TYPING_TIMEOUT = Duration.millis(800);
+
+    private BoardGeometry geometry;
+    private int size;
+    private double cellSize;
+    private Font font;
+    private int[] values = new int[0];
+    private CellState[] states = new CellState[0];
+    private boolean[] dirty = new boolean[0];
+    private int[] dirtyCells = new int[0];
+    private int dirtyCount;
+    private boolean redrawPending;
+    private int selected = -1;
+    private int pendingCell = -1;
+    private int pendingValue;
+    private final PauseTransition typingTimer = new PauseTransition(TYPING_TIMEOUT);
+    private InputHandler inputHandler;
+
+    /**
+     * Creates an empty board canvas of the given side length.
+     *
+     * @param side The width and height of the canvas in pixels.
+     */
+    public BoardCanvas(double side) {
+        super(side, side);
+        setFocusTraversable(true);
+        addEventHandler(MouseEvent.MOUSE_PRESSED, this::handleMouse);
+        addEventHandler(KeyEvent.KEY_PRESSED, this::handleKey);
+        typingTimer.setOnFinished(event -> commitPending());
+    }
+
+    /**
+     * Handles the edits of the cells.
+     */
+    @FunctionalInterface
+    public interface InputHandler {
+
+        /**
+         * Called when the user enters or erases a value in a cell.
+         *
+         * @param row The row index of the cell (0-based).
+         * @param col The column index of the cell (0-based).
+         * @param value The value entered, or 0 if the cell was erased.
+         */
+        void onInput(int row, int col, int value);
+    }
+
+    /**
+     * Sets the handler notified of every edit.
+     *
+     * @param inputHandler The handler of the cell edits.
+     */
+    public void setInputHandler(InputHandler inputHandler) {
+        this.inputHandler = inputHandler;
+    }
+
+    /**
+     * Prepares the canvas for a board of the given shape, with every cell empty, and redraws it fully.
+     *
+     * @param geometry The shape of the board to draw.
+     */
+    public void setGeometry(BoardGeometry geometry) {
+        this.geometry = geometry;
+        this.size = geometry.getSize();
+        this.cellSize = getWidth() / size;
+        this.font = Font.font("System", FontWeight.BOLD, cellSize * 0.5);
+        int cellCount = geometry.getCellCount();
+        this.values = new int[cellCount];
+        this.states = new CellState[cellCount];
+        this.dirty = new boolean[cellCount];
+        this.dirtyCells = new int[cellCount];
+        this.dirtyCount = 0;
+        this.selected = -1;
+        typingTimer.stop();
+        this.pendingCell = -1;
+        this.pendingValue = 0;
+        for (int cell = 0; cell < cellCount; cell++) {
+            states[cell] = CellState.EMPTY;
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Changes the displayed value and state of a cell. Nothing is redrawn if both are unchanged.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @param value The value to show, or 0 for none.
+     * @param state The state the cell is drawn in.
+     */
+    public void setCell(int row, int col, int value, CellState state) {
+        int cell = row * size + col;
+        if (values[cell] != value || states[cell] != state) {
+            values[cell] = value;
+            states[cell] = state;
+            markDirty(cell);
+        }
+    }
+
+    /**
+     * Returns the value shown in a cell.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @return The value shown, or 0 if the cell is empty.
+     */
+    public int getValue(int row, int col) {
+        return values[row * size + col];
+    }
+
+    /**
+     * Selects a cell with the mouse and takes the keyboard focus.
+     *
+     * @param event The mouse event.
+     */
+    private void handleMouse(MouseEvent event) {
+        if (geometry == null || isDisabled()) {
+            return;
+        }
+        int col = (int) (event.getX() / cellSize);
+        int row = (int) (event.getY() / cellSize);
+        if (row >= 0 && row < size && col >= 0 && col < size) {
+            select(row * size + col);
+        }
+        requestFocus();
+    }
+
+    /**
+     * Moves the selection with the arrow keys and edits the selected cell with digits,
+     * Backspace and Delete. The digits typed are buffered and reported as one value on Enter,
+     * after a short pause, when another cell is selected, or as soon as no longer value within
+     * the board size can start with them. Escape discards the digits typed.
+     *
+     * @param event The key event.
+     */
+    private void handleKey(KeyEvent event) {
+        if (geometry == null || selected < 0 || isDisabled()) {
+            return;
+        }
+        KeyCode code = event.getCode();
+        int row = selected / size;
+        int col = selected % size;
+        switch (code) {
+            case UP:
+                select(Math.max(row - 1, 0) * size + col);
+                break;
+            case DOWN:
+                select(Math.min(row + 1, size - 1) * size + col);
+                break;
+            case LEFT:
+                select(row * size + Math.max(col - 1, 0));
+                break;
+            case RIGHT:
+                select(row * size + Math.min(col + 1, size - 1));
+                break;
+            case BACK_SPACE:
+            case DELETE:
+                discardPending();
+                edit(row, col, 0);
+                break;
+            case ENTER:
+                commitPending();
+                break;
+            case ESCAPE:
+                discardPending();
+                break;
+            default:
+                if (!code.isDigitKey()) {
+                    return;
+                }
+                int zero = code.isKeypadKey() ? KeyCode.NUMPAD0.getCode() : KeyCode.DIGIT0.getCode();
+                type(code.getCode() - zero);
+        }
+        event.consume();
+    }
+
+    /**
+     * Adds a typed digit to the value buffered for the selected cell. A digit that cannot extend
+     * the buffered value reports it and starts a new one.
+     *
+     * @param digit The digit typed, from 0 to 9.
+     */
+    private void type(int digit) {
+        if (states[selected] == CellState.GIVEN) {
+            return;
+        }
+        int appended = pendingValue * 10 + digit;
+        if (pendingCell == selected && appended <= size) {
+            pendingValue = appended;
+        } else {
+            commitPending();
+            if (digit == 0 || digit > size) {
+                return;
+            }
+            pendingCell = selected;
+            pendingValue = digit;
+        }
+        markDirty(pendingCell);
+        if (pendingValue * 10 > size) {
+            commitPending();
+        } else {
+            typingTimer.playFromStart();
+        }
+    }
+
+    /**
+     * Reports the value buffered for a cell, if any, as one edit.
+     */
+    private void commitPending() {
+        if (pendingCell < 0) {
+            return;
+        }
+        int cell = pendingCell;
+        int value = pendingValue;
+        discardPending();
+        edit(cell / size, cell % size, value);
+    }
+
+    /**
+     * Drops the value buffered for a cell without reporting it.
+     */
+    private void discardPending() {
+        typingTimer.stop();
+        if (pendingCell >= 0) {
+            markDirty(pendingCell);
+        }
+        pendingCell = -1;
+        pendingValue = 0;
+    }
+
+    /**
+     * Reports an edit of an editable cell to the input handler.
+     *
+     * @param row The row index of the cell (0-based).
+     * @param col The column index of the cell (0-based).
+     * @param value The value entered, or 0 to erase.
+     */
+    private void edit(int row, int col, int value) {
+        if (states[row * size + col] == CellState.GIVEN || inputHandler == null || isDisabled()) {
+            return;
+        }
+        inputHandler.onInput(row, col, value);
+    }
+
+    /**
+     * Moves the selection to a cell, redrawing the previous and the new selected cell.
+     *
+     * @param cell The index of the cell to select.
+     */
+    private void select(int cell) {
+        if (cell != pendingCell) {
+            commitPending();
+        }
+        if (selected >= 0) {
+            markDirty(selected);
+        }
+        selected = cell;
+        markDirty(cell);
+    }
+
+    /**
+     * Queues a cell for the next redraw, scheduling the redraw if none is pending.
+     *
+     * @param cell The index of the cell to redraw.
+     */
+    private void markDirty(int cell) {
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCells[dirtyCount++] = cell;
+        }
+        if (!redrawPending) {
+            redrawPending = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    /**
+     * Redraws the queued cells.
+     */
+    private void flush() {
+        redrawPending = false;
+        GraphicsContext graphics = getGraphicsContext2D();
+        graphics.setFont(font);
+        graphics.setTextAlign(TextAlignment.CENTER);
+        graphics.setTextBaseline(VPos.CENTER);
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            dirty[cell] = false;
+            drawCell(graphics, cell);
+        }
+        dirtyCount = 0;
+    }
+
+    /**
+     * Draws the background, value and borders of one cell. Block borders are drawn thicker, and a
+     * cell with buffered digits shows them instead of its value.
+     *
+     * @param graphics The graphics context of the canvas.
+     * @param cell The index of the cell to draw.
+     */
+    private void drawCell(GraphicsContext graphics, int cell) {
+        int row = cell / size;
+        int col = cell % size;
+        double x = col * cellSize;
+        double y = row * cellSize;
+
+        graphics.setFill(colorOf(states[cell]));
+        graphics.fillRect(x, y, cellSize, cellSize);
+        int value = cell == pendingCell ? pendingValue : values[cell];
+        if (value != 0) {
+            graphics.setFill(Color.BLACK);
+            graphics.fillText(Integer.toString(value), x + cellSize / 2, y + cellSize / 2);
+        }
+
+        graphics.setStroke(Color.GRAY);
+        graphics.setLineWidth(1);
+        graphics.strokeRect(x + 0.5, y + 0.5, cellSize - 1, cellSize - 1);
+        graphics.setStroke(Color.BLACK);
+        graphics.setLineWidth(3);
+        if (row % geometry.getBlockRows() == 0) {
+            graphics.strokeLine(x, y + 1.5, x + cellSize, y + 1.5);
+        }
+        if ((row + 1) % geometry.getBlockRows() == 0) {
+            graphics.strokeLine(x, y + cellSize - 1.5, x + cellSize, y + cellSize - 1.5);
+        }
+        if (col % geometry.getBlockCols() == 0) {
+            graphics.strokeLine(x + 1.5, y, x + 1.5, y + cellSize);
+        }
+        if ((col + 1) % geometry.getBlockCols() == 0) {
+            graphics.strokeLine(x + cellSize - 1.5, y, x + cellSize - 1.5, y + cellSize);
+        }
+        if (cell == selected) {
+            graphics.setStroke(SELECTED_COLOR);
+            graphics.setLineWidth(2);
+            graphics.strokeRect(x + 3, y + 3, cellSize - 6, cellSize - 6);
+        }
+    }
+
+    /**
+     * Returns the background color of a cell state.
+     *
+     * @param state The state of the cell.
+     * @return The color the cell is filled with.
+     */
+    private static Color colorOf(CellState state) {
+        switch (state) {
+            case GIVEN:
+                return GIVEN_COLOR;
+            case CORRECT:
+                return CORRECT_COLOR;
+            case WRONG:
+                return WRONG_COLOR;
+            case HINTED:
+                return HINTED_COLOR;
+            default:
+                return EMPTY_COLOR;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.sodoku.views;
+
+import javafx.css.PseudoClass;
+import javafx.scene.Node;
+
+/**
+ * The visual state of a cell of the board. On text fields each state other than {@link #EMPTY}
+ * is a CSS pseudo-class styled by {@code sodoku.css}, so changing a state only toggles a flag
+ * instead of rewriting the inline style of the cell.
+ * @author Juan Toro
+ */
+public enum CellState {
+    /** A clue of the puzzle, which cannot be edited. */
+    GIVEN("given"),
+    /** A value entered by the user that fits the board. */
+    CORRECT("correct"),
+    /** A value entered by the user that conflicts with its row, column or block. */
+    WRONG("wrong"),
+    /** A value filled in by the help button. */
+    HINTED("hinted"),
+    /** A cell without a value. */
+    EMPTY(null);
+
+    private static final CellState[] STATES = values();
+
+    private final PseudoClass pseudoClass;
+
+    /**
+     * Creates a state.
+     *
+     * @param pseudoClass The name of the CSS pseudo-class of the state, or null if it has none.
+     */
+    CellState(String pseudoClass) {
+        this.pseudoClass = pseudoClass == null ? null : PseudoClass.getPseudoClass(pseudoClass);
+    }
+
+    /**
+     * Shows a node in the given state, turning the pseudo-class of the state on and every other one off.
+     *
+     * @param node The cell to update.
+     * @param state The new state of the cell.
+     */
+    public static void apply(Node node, CellState state) {
+        for (CellState other : STATES) {
+            if (other.pseudoClass != null) {
+                node.pseudoClassStateChanged(other.pseudoClass, other == state);
+            }
+        }
+    }
+}
@@ -1,4 +1,5 @@
 module com.example.sodoku {
+    requires com.example.sodoku.core;
     requires javafx.controls;
     requires javafx.fxml;
     opens com.example.sodoku.controller to javafx.fxml;